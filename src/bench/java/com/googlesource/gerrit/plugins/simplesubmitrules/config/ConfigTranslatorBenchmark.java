@@ -0,0 +1,182 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.entities.CachedProjectConfig;
+import com.google.gerrit.entities.LabelType;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectConfig;
+import com.google.gerrit.server.project.ProjectState;
+import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.eclipse.jgit.lib.Config;
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading the config of a project through {@link EffectiveConfigCache}, converting it
+ * with {@link ConfigTranslator#convertFrom} and writing it with {@link ConfigTranslator#applyTo},
+ * for projects with an increasing number of labels, against in-memory stand-ins of the project
+ * state, the project config and the plugin config.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigTranslatorBenchmark {
+  private static final String PLUGIN_NAME = "simple-submit-rules";
+
+  @Param({"5", "50", "500"})
+  public int labels;
+
+  private ConfigTranslator configTranslator;
+  private EffectiveConfigCache effectiveConfigCache;
+  private ProjectState projectState;
+  private PluginConfig projectPluginConfig;
+  private EffectiveConfig effectiveConfig;
+  private ProjectConfig projectConfig;
+  private SubmitConfig submitConfig;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    ImmutableList<LabelType> labelTypes =
+        IntStream.range(0, labels)
+            .mapToObj(i -> LabelType.withDefaultValues("Label-" + i))
+            .collect(toImmutableList());
+
+    projectPluginConfig = stub(PluginConfig.class);
+    when(projectPluginConfig.getString(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS))
+        .thenReturn("true");
+    when(projectPluginConfig.getBoolean(
+            SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false))
+        .thenReturn(true);
+    when(projectPluginConfig.getStringList(anyString())).thenReturn(new String[0]);
+
+    Map<String, LabelType> labelSections = new HashMap<>();
+    labelTypes.forEach(l -> labelSections.put(l.getName(), l));
+
+    CachedProjectConfig cachedProjectConfig = stub(CachedProjectConfig.class);
+    when(cachedProjectConfig.getRevision()).thenReturn(Optional.of(ObjectId.zeroId()));
+    when(cachedProjectConfig.getLabelSections()).thenReturn(ImmutableMap.copyOf(labelSections));
+    projectState = stub(ProjectState.class);
+    when(projectState.getNameKey()).thenReturn(Project.nameKey("benchmark"));
+    when(projectState.getConfig()).thenReturn(cachedProjectConfig);
+    when(projectState.tree()).thenReturn(ImmutableList.of(projectState));
+    PluginConfigFactory pluginConfigFactory = stub(PluginConfigFactory.class);
+    when(pluginConfigFactory.getFromProjectConfig(projectState, PLUGIN_NAME))
+        .thenReturn(projectPluginConfig);
+    PluginConfig.Update pluginSection = PluginConfig.Update.forTest(PLUGIN_NAME, new Config());
+    projectConfig = stub(ProjectConfig.class);
+    when(projectConfig.getName()).thenReturn(Project.nameKey("benchmark"));
+    when(projectConfig.getLabelSections()).thenReturn(labelSections);
+    doAnswer(
+            invocation -> {
+              LabelType.Builder builder =
+                  labelSections.get(invocation.<String>getArgument(0)).toBuilder();
+              invocation.<Consumer<LabelType.Builder>>getArgument(1).accept(builder);
+              labelSections.put(invocation.getArgument(0), builder.build());
+              return null;
+            })
+        .when(projectConfig)
+        .updateLabelType(anyString(), any(Consumer.class));
+    doAnswer(
+            invocation -> {
+              LabelType labelType = invocation.getArgument(0);
+              labelSections.put(labelType.getName(), labelType);
+              return null;
+            })
+        .when(projectConfig)
+        .upsertLabelType(any(LabelType.class));
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<PluginConfig.Update>>getArgument(1).accept(pluginSection);
+              return null;
+            })
+        .when(projectConfig)
+        .updatePluginConfig(anyString(), any(Consumer.class));
+
+    configTranslator =
+        new ConfigTranslator(stub(ProjectCache.class), () -> HostPolicy.EMPTY, PLUGIN_NAME);
+    effectiveConfigCache =
+        new EffectiveConfigCache(
+            CacheBuilder.newBuilder().build(), pluginConfigFactory, PLUGIN_NAME);
+    effectiveConfig = effectiveConfigCache.getEffectiveConfig(projectState);
+    submitConfig = ConfigTranslator.convertFrom(effectiveConfig);
+  }
+
+  /**
+   * Returns a mock that doesn't record its invocations, so that they don't allocate nor grow the
+   * heap while measuring.
+   */
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  /** Cache hit, as for most reads of the config. */
+  @Benchmark
+  public EffectiveConfig getEffectiveConfig() {
+    return effectiveConfigCache.getEffectiveConfig(projectState);
+  }
+
+  /** Cache miss, after the config of the project was updated. */
+  @Benchmark
+  public EffectiveConfig createEffectiveConfig() {
+    return EffectiveConfig.create(projectState, null, projectPluginConfig);
+  }
+
+  @Benchmark
+  public SubmitConfig convertFrom() {
+    return ConfigTranslator.convertFrom(effectiveConfig);
+  }
+
+  @Benchmark
+  public ProjectConfig applyTo() throws Exception {
+    configTranslator.applyTo(submitConfig, projectConfig);
+    return projectConfig;
+  }
+}
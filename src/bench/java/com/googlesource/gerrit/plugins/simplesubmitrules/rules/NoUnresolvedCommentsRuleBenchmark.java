@@ -0,0 +1,195 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.gerrit.entities.CachedProjectConfig;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.metrics.DisabledMetricMaker;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link NoUnresolvedCommentsRule#evaluate(ChangeData)} against in-memory stand-ins of the
+ * project cache, the plugin config and the change.
+ *
+ * <p>In the {@code cold} state, the rule settings are evicted and the change gets a new meta
+ * revision before each evaluation, so the settings are parsed and the comments counted every time.
+ * In the {@code warm} state, the settings and the submit record come from the plugin caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoUnresolvedCommentsRuleBenchmark {
+  private static final String PLUGIN_NAME = "simple-submit-rules";
+  private static final Project.NameKey PROJECT = Project.nameKey("benchmark");
+
+  @Param({"true", "false"})
+  public boolean ruleEnabled;
+
+  @Param({"0", "100", "1000", "10000"})
+  public int comments;
+
+  @Param({"warm", "cold"})
+  public String state;
+
+  private NoUnresolvedCommentsRule rule;
+  private RuleSettingsCache ruleSettingsCache;
+  private ChangeData changeData;
+  private boolean cold;
+  private int metaRevisionCounter;
+  private ObjectId metaRevision;
+
+  @Setup
+  public void setUp() {
+    PluginConfig pluginConfig = stub(PluginConfig.class);
+    when(pluginConfig.getBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false))
+        .thenReturn(ruleEnabled);
+    when(pluginConfig.getInt(anyString(), anyInt()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    when(pluginConfig.getStringList(anyString())).thenReturn(new String[0]);
+    PluginConfigFactory pluginConfigFactory = stub(PluginConfigFactory.class);
+    when(pluginConfigFactory.getFromProjectConfig(any(ProjectState.class), eq(PLUGIN_NAME)))
+        .thenReturn(pluginConfig);
+
+    CachedProjectConfig cachedProjectConfig = stub(CachedProjectConfig.class);
+    when(cachedProjectConfig.getRevision()).thenReturn(Optional.of(ObjectId.zeroId()));
+    ProjectState projectState = stub(ProjectState.class);
+    when(projectState.getConfig()).thenReturn(cachedProjectConfig);
+    ProjectCache projectCache = stub(ProjectCache.class);
+    when(projectCache.get(PROJECT)).thenReturn(Optional.of(projectState));
+
+    RuleSettingsCache.Loader loader =
+        new RuleSettingsCache.Loader(projectCache, pluginConfigFactory, PLUGIN_NAME);
+    ruleSettingsCache =
+        new RuleSettingsCache(
+            CacheBuilder.newBuilder().build(loader),
+            projectCache,
+            pluginConfigFactory,
+            PLUGIN_NAME);
+    rule =
+        new NoUnresolvedCommentsRule(
+            new CachedProjectRuleSettings(ruleSettingsCache),
+            new UnresolvedCommentCountCache(CacheBuilder.newBuilder().build()),
+            new SubmitRecordCache(CacheBuilder.newBuilder().build()),
+            new CommentScanner(stub(IdentifiedUser.GenericFactory.class)),
+            new RuleMetrics(new DisabledMetricMaker()));
+
+    PublishedComments publishedComments = new PublishedComments(comments);
+    metaRevision = nextMetaRevision();
+    Change change = stub(Change.class);
+    when(change.getMetaRevision()).thenAnswer(invocation -> metaRevision);
+    changeData = stub(ChangeData.class);
+    when(changeData.getId()).thenReturn(Change.id(1));
+    when(changeData.project()).thenReturn(PROJECT);
+    when(changeData.change()).thenReturn(change);
+    when(changeData.unresolvedCommentCount())
+        .thenAnswer(invocation -> publishedComments.countUnresolved());
+
+    cold = state.equals("cold");
+  }
+
+  @Benchmark
+  public Optional<SubmitRecord> evaluate() {
+    if (cold) {
+      ruleSettingsCache.evict(PROJECT);
+      metaRevision = nextMetaRevision();
+    }
+    return rule.evaluate(changeData);
+  }
+
+  /**
+   * Returns a mock that doesn't record its invocations, so that they don't allocate nor grow the
+   * heap while measuring.
+   */
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  private ObjectId nextMetaRevision() {
+    return ObjectId.fromRaw(new int[] {0, 0, 0, 0, ++metaRevisionCounter});
+  }
+
+  /**
+   * Stand-in for the published comments of a change: every other comment replies to the previous
+   * one, and a thread is unresolved when its last comment is.
+   */
+  private static class PublishedComments {
+    private final String[] uuids;
+    private final String[] parentUuids;
+    private final boolean[] unresolved;
+
+    PublishedComments(int count) {
+      uuids = new String[count];
+      parentUuids = new String[count];
+      unresolved = new boolean[count];
+      for (int i = 0; i < count; i++) {
+        uuids[i] = "uuid-" + i;
+        parentUuids[i] = i % 2 == 1 ? uuids[i - 1] : null;
+        unresolved[i] = i % 3 == 0;
+      }
+    }
+
+    int countUnresolved() {
+      Set<String> parents = new HashSet<>();
+      for (String parentUuid : parentUuids) {
+        if (parentUuid != null) {
+          parents.add(parentUuid);
+        }
+      }
+      int count = 0;
+      for (int i = 0; i < uuids.length; i++) {
+        if (unresolved[i] && !parents.contains(uuids[i])) {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+}
@@ -14,17 +14,21 @@
 
 package com.googlesource.gerrit.plugins.simplesubmitrules;
 
-import com.google.gerrit.extensions.registration.DynamicSet;
-import com.google.gerrit.server.rules.SubmitRule;
-import com.google.inject.AbstractModule;
-import com.googlesource.gerrit.plugins.simplesubmitrules.config.ConfigTranslator;
-import com.googlesource.gerrit.plugins.simplesubmitrules.rules.NoUnresolvedCommentsRule;
+import com.google.gerrit.lifecycle.LifecycleModule;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.PreloadedProjectRuleSettings;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.ProjectRuleSettings;
 
-/** Rules for the batch programs (offline reindexer) */
-public class BatchModule extends AbstractModule {
+/**
+ * Rules for the batch programs (offline reindexer)
+ *
+ * <p>The project configurations do not change while a batch program runs: the rule settings of
+ * all the projects are loaded once when it starts.
+ */
+public class BatchModule extends LifecycleModule {
   @Override
   protected void configure() {
-    bind(ConfigTranslator.class);
-    DynamicSet.bind(binder(), SubmitRule.class).to(NoUnresolvedCommentsRule.class);
+    install(new RulesModule());
+    bind(ProjectRuleSettings.class).to(PreloadedProjectRuleSettings.class);
+    listener().to(PreloadedProjectRuleSettings.class);
   }
 }
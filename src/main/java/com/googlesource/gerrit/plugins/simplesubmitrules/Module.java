@@ -14,13 +14,32 @@
 
 package com.googlesource.gerrit.plugins.simplesubmitrules;
 
+import com.google.gerrit.extensions.annotations.Exports;
+import com.google.gerrit.extensions.events.GitReferenceUpdatedListener;
 import com.google.gerrit.extensions.registration.DynamicSet;
 import com.google.gerrit.extensions.restapi.RestApiModule;
 import com.google.gerrit.extensions.webui.JavaScriptPlugin;
 import com.google.gerrit.extensions.webui.WebUiPlugin;
+import com.google.gerrit.lifecycle.LifecycleModule;
+import com.google.gerrit.server.config.ConfigResource;
+import com.google.gerrit.server.config.GerritConfigListener;
 import com.google.gerrit.server.project.ProjectResource;
+import com.google.gerrit.server.query.change.ChangeQueryBuilder.ChangeOperatorFactory;
 import com.google.inject.AbstractModule;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.BulkExecutor;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.ConfigReindexer;
 import com.googlesource.gerrit.plugins.simplesubmitrules.config.ConfigServlet;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.EffectiveConfigCache;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.GetReindexStatus;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.GetSubmitConfigScreen;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.GetSubmitConfigs;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.HostPolicyProvider;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.PatchSubmitConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.PutSubmitConfigs;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.CachedProjectRuleSettings;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.ProjectConfigUpdatedListener;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.ProjectRuleSettings;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.RuleStatusOperator;
 
 /** Bootstraps the Simple Submit Rules plugin */
 public class Module extends AbstractModule {
@@ -34,11 +53,34 @@ public class Module extends AbstractModule {
           protected void configure() {
             get(ProjectResource.PROJECT_KIND, API_ENDPOINT).to(ConfigServlet.class);
             put(ProjectResource.PROJECT_KIND, API_ENDPOINT).to(ConfigServlet.class);
+            post(ProjectResource.PROJECT_KIND, API_ENDPOINT).to(PatchSubmitConfig.class);
+            get(ProjectResource.PROJECT_KIND, API_ENDPOINT + "-reindex")
+                .to(GetReindexStatus.class);
+            get(ProjectResource.PROJECT_KIND, API_ENDPOINT + "-screen")
+                .to(GetSubmitConfigScreen.class);
+            get(ConfigResource.CONFIG_KIND, API_ENDPOINT).to(GetSubmitConfigs.class);
+            put(ConfigResource.CONFIG_KIND, API_ENDPOINT).to(PutSubmitConfigs.class);
           }
         });
 
     DynamicSet.bind(binder(), WebUiPlugin.class)
         .toInstance(new JavaScriptPlugin("simple-submit-rules.js"));
-    install(new BatchModule());
+    DynamicSet.bind(binder(), GitReferenceUpdatedListener.class)
+        .to(ProjectConfigUpdatedListener.class);
+    DynamicSet.bind(binder(), GerritConfigListener.class).to(HostPolicyProvider.class);
+    install(
+        new LifecycleModule() {
+          @Override
+          protected void configure() {
+            listener().to(BulkExecutor.class);
+            listener().to(ConfigReindexer.class);
+          }
+        });
+    bind(ChangeOperatorFactory.class)
+        .annotatedWith(Exports.named(RuleStatusOperator.OPERATOR))
+        .to(RuleStatusOperator.class);
+    install(new RulesModule());
+    install(EffectiveConfigCache.module());
+    bind(ProjectRuleSettings.class).to(CachedProjectRuleSettings.class);
   }
 }
@@ -0,0 +1,41 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules;
+
+import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.server.rules.SubmitRule;
+import com.google.inject.AbstractModule;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.ConfigTranslator;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.HostPolicy;
+import com.googlesource.gerrit.plugins.simplesubmitrules.config.HostPolicyProvider;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.NoUnresolvedCommentsRule;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.RequireRule;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.RuleSettingsCache;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.SubmitRecordCache;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.UnresolvedCommentCountCache;
+
+/** Rules shared by the server and the batch programs */
+class RulesModule extends AbstractModule {
+  @Override
+  protected void configure() {
+    bind(ConfigTranslator.class);
+    bind(HostPolicy.class).toProvider(HostPolicyProvider.class);
+    install(RuleSettingsCache.module());
+    install(UnresolvedCommentCountCache.module());
+    install(SubmitRecordCache.module());
+    DynamicSet.bind(binder(), SubmitRule.class).to(NoUnresolvedCommentsRule.class);
+    DynamicSet.bind(binder(), SubmitRule.class).to(RequireRule.class);
+  }
+}
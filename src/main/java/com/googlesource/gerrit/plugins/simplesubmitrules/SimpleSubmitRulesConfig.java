@@ -16,6 +16,14 @@ package com.googlesource.gerrit.plugins.simplesubmitrules;
 
 public final class SimpleSubmitRulesConfig {
   public static final String KEY_BLOCK_IF_UNRESOLVED_COMMENTS = "blockIfUnresolvedComments";
+  public static final String KEY_MAX_UNRESOLVED_COMMENTS = "maxUnresolvedComments";
+  public static final String KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_LATEST_PATCH_SET =
+      "blockIfUnresolvedCommentsOnLatestPatchSet";
+  public static final String KEY_BLOCK_IF_UNRESOLVED_COMMENTS_FROM_GROUP =
+      "blockIfUnresolvedCommentsFromGroup";
+  public static final String KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH =
+      "blockIfUnresolvedCommentsOnPath";
+  public static final String KEY_REQUIRE = "require";
 
   private SimpleSubmitRulesConfig() {}
 }
@@ -0,0 +1,54 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+import java.util.Objects;
+
+/** Input of the bulk update endpoint: the same {@link SubmitConfig} applied to many projects. */
+public class BulkSubmitConfigInput {
+  public List<String> projects;
+  public SubmitConfig config;
+
+  public BulkSubmitConfigInput() {}
+
+  public BulkSubmitConfigInput(List<String> projects, SubmitConfig config) {
+    this.projects = projects;
+    this.config = config;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(projects, config);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof BulkSubmitConfigInput)) {
+      return false;
+    }
+    BulkSubmitConfigInput other = (BulkSubmitConfigInput) o;
+    return Objects.equals(projects, other.projects) && Objects.equals(config, other.config);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("projects", projects)
+        .add("config", config)
+        .toString();
+  }
+}
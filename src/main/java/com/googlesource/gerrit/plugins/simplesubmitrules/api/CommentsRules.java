@@ -15,18 +15,33 @@
 package com.googlesource.gerrit.plugins.simplesubmitrules.api;
 
 import com.google.common.base.MoreObjects;
+import java.util.List;
 import java.util.Objects;
 
 public class CommentsRules {
-  public boolean blockIfUnresolvedComments;
+  public Boolean blockIfUnresolvedComments;
 
-  public CommentsRules(boolean blockIfUnresolvedComments) {
+  /**
+   * Glob patterns of the paths on which unresolved comments block the submission, like {@code
+   * src/} or {@code *.proto}.
+   */
+  public List<String> blockIfUnresolvedCommentsOnPaths;
+
+  public CommentsRules() {}
+
+  public CommentsRules(Boolean blockIfUnresolvedComments) {
+    this.blockIfUnresolvedComments = blockIfUnresolvedComments;
+  }
+
+  public CommentsRules(
+      Boolean blockIfUnresolvedComments, List<String> blockIfUnresolvedCommentsOnPaths) {
     this.blockIfUnresolvedComments = blockIfUnresolvedComments;
+    this.blockIfUnresolvedCommentsOnPaths = blockIfUnresolvedCommentsOnPaths;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(blockIfUnresolvedComments);
+    return Objects.hash(blockIfUnresolvedComments, blockIfUnresolvedCommentsOnPaths);
   }
 
   @Override
@@ -35,13 +50,15 @@ public class CommentsRules {
       return false;
     }
     CommentsRules other = (CommentsRules) o;
-    return blockIfUnresolvedComments == other.blockIfUnresolvedComments;
+    return Objects.equals(blockIfUnresolvedComments, other.blockIfUnresolvedComments)
+        && Objects.equals(blockIfUnresolvedCommentsOnPaths, other.blockIfUnresolvedCommentsOnPaths);
   }
 
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("blockIfUnresolvedComments", blockIfUnresolvedComments)
+        .add("blockIfUnresolvedCommentsOnPaths", blockIfUnresolvedCommentsOnPaths)
         .toString();
   }
 }
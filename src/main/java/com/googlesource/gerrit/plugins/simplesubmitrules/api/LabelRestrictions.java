@@ -0,0 +1,55 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import java.util.Set;
+
+/** Settings of a label that the host doesn't allow projects to set. */
+public class LabelRestrictions {
+  public Set<String> disallowedFunctions;
+  public Set<String> disallowedCopyScoreRules;
+
+  public LabelRestrictions() {}
+
+  public LabelRestrictions(Set<String> disallowedFunctions, Set<String> disallowedCopyScoreRules) {
+    this.disallowedFunctions = disallowedFunctions;
+    this.disallowedCopyScoreRules = disallowedCopyScoreRules;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(disallowedFunctions, disallowedCopyScoreRules);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof LabelRestrictions)) {
+      return false;
+    }
+    LabelRestrictions other = (LabelRestrictions) o;
+    return Objects.equals(disallowedFunctions, other.disallowedFunctions)
+        && Objects.equals(disallowedCopyScoreRules, other.disallowedCopyScoreRules);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("disallowedFunctions", disallowedFunctions)
+        .add("disallowedCopyScoreRules", disallowedCopyScoreRules)
+        .toString();
+  }
+}
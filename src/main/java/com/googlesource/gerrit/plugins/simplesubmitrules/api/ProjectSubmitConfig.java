@@ -0,0 +1,58 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+
+/** Effective {@link SubmitConfig} of a project, as streamed by the bulk endpoints. */
+public class ProjectSubmitConfig {
+  public String project;
+  public SubmitConfig config;
+  public String error;
+
+  public ProjectSubmitConfig() {}
+
+  public ProjectSubmitConfig(String project, SubmitConfig config, String error) {
+    this.project = project;
+    this.config = config;
+    this.error = error;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(project, config, error);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof ProjectSubmitConfig)) {
+      return false;
+    }
+    ProjectSubmitConfig other = (ProjectSubmitConfig) o;
+    return Objects.equals(project, other.project)
+        && Objects.equals(config, other.config)
+        && Objects.equals(error, other.error);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("project", project)
+        .add("config", config)
+        .add("error", error)
+        .toString();
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+
+/** Outcome of the update of a project, as streamed by the bulk update endpoint. */
+public class ProjectUpdateResult {
+  public String project;
+  /** Set to true when the project already had the config, and was left as it was. */
+  public Boolean unchanged;
+
+  public String error;
+
+  public ProjectUpdateResult() {}
+
+  public ProjectUpdateResult(String project, Boolean unchanged, String error) {
+    this.project = project;
+    this.unchanged = unchanged;
+    this.error = error;
+  }
+
+  public static ProjectUpdateResult updated(String project) {
+    return new ProjectUpdateResult(project, null, null);
+  }
+
+  public static ProjectUpdateResult unchanged(String project) {
+    return new ProjectUpdateResult(project, true, null);
+  }
+
+  public static ProjectUpdateResult error(String project, String error) {
+    return new ProjectUpdateResult(project, null, error);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(project, unchanged, error);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof ProjectUpdateResult)) {
+      return false;
+    }
+    ProjectUpdateResult other = (ProjectUpdateResult) o;
+    return Objects.equals(project, other.project)
+        && Objects.equals(unchanged, other.unchanged)
+        && Objects.equals(error, other.error);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("project", project)
+        .add("unchanged", unchanged)
+        .add("error", error)
+        .toString();
+  }
+}
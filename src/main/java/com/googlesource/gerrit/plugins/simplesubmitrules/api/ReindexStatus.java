@@ -0,0 +1,58 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+
+/** Status of a queued reindex of a project, after its config was updated. */
+public class ReindexStatus {
+  public boolean pending;
+  /** Only set, to true, when the reindex failed. */
+  public Boolean failed;
+
+  public ReindexStatus() {}
+
+  public ReindexStatus(boolean pending) {
+    this(pending, false);
+  }
+
+  public ReindexStatus(boolean pending, boolean failed) {
+    this.pending = pending;
+    this.failed = failed ? true : null;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(pending, failed);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof ReindexStatus)) {
+      return false;
+    }
+    ReindexStatus other = (ReindexStatus) o;
+    return pending == other.pending && Objects.equals(failed, other.failed);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("pending", pending)
+        .add("failed", failed)
+        .toString();
+  }
+}
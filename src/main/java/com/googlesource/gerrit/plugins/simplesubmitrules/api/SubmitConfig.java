@@ -23,6 +23,12 @@ public class SubmitConfig {
   public Map<String, LabelDefinition> labels;
   public CommentsRules comments;
 
+  /**
+   * Revision of {@code refs/meta/config} of the project the config was read at. When set in an
+   * update, the update is rejected if it conflicts with changes made since that revision.
+   */
+  public String revision;
+
   public SubmitConfig() {
     labels = new HashMap<>();
   }
@@ -34,7 +40,7 @@ public class SubmitConfig {
 
   @Override
   public int hashCode() {
-    return Objects.hash(labels, comments);
+    return Objects.hash(labels, comments, revision);
   }
 
   @Override
@@ -43,7 +49,9 @@ public class SubmitConfig {
       return false;
     }
     SubmitConfig other = (SubmitConfig) o;
-    return Objects.equals(labels, other.labels) && Objects.equals(comments, other.comments);
+    return Objects.equals(labels, other.labels)
+        && Objects.equals(comments, other.comments)
+        && Objects.equals(revision, other.revision);
   }
 
   @Override
@@ -51,6 +59,7 @@ public class SubmitConfig {
     return MoreObjects.toStringHelper(this)
         .add("labels", labels)
         .add("comments", comments)
+        .add("revision", revision)
         .toString();
   }
 }
@@ -0,0 +1,63 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/** Everything the UI needs to render the config screen of a project, in a single response. */
+public class SubmitConfigScreen {
+  /** Effective config of the project, null if the caller can't read it. */
+  public SubmitConfig config;
+
+  public boolean canReadConfig;
+  public boolean canWriteConfig;
+
+  /** Restrictions set by the host on the labels of {@link #config}, by label name. */
+  public Map<String, LabelRestrictions> labelRestrictions;
+
+  public SubmitConfigScreen() {
+    labelRestrictions = new HashMap<>();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(config, canReadConfig, canWriteConfig, labelRestrictions);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof SubmitConfigScreen)) {
+      return false;
+    }
+    SubmitConfigScreen other = (SubmitConfigScreen) o;
+    return Objects.equals(config, other.config)
+        && canReadConfig == other.canReadConfig
+        && canWriteConfig == other.canWriteConfig
+        && Objects.equals(labelRestrictions, other.labelRestrictions);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("config", config)
+        .add("canReadConfig", canReadConfig)
+        .add("canWriteConfig", canWriteConfig)
+        .add("labelRestrictions", labelRestrictions)
+        .toString();
+  }
+}
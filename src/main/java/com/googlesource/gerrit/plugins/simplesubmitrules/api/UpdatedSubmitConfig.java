@@ -0,0 +1,66 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+
+/** Response of a {@code PUT}: the resulting {@link SubmitConfig} of the project. */
+public class UpdatedSubmitConfig extends SubmitConfig {
+  /** Set to true when the project already had the config, and nothing was written. */
+  public Boolean unchanged;
+
+  /**
+   * Set when the project is reindexed in the background: handle to poll the reindex status of the
+   * project with.
+   */
+  public Long reindexHandle;
+
+  public UpdatedSubmitConfig() {}
+
+  public UpdatedSubmitConfig(SubmitConfig config, boolean unchanged, Long reindexHandle) {
+    super(config.labels, config.comments);
+    this.revision = config.revision;
+    this.unchanged = unchanged ? true : null;
+    this.reindexHandle = reindexHandle;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), unchanged, reindexHandle);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof UpdatedSubmitConfig)) {
+      return false;
+    }
+    UpdatedSubmitConfig other = (UpdatedSubmitConfig) o;
+    return super.equals(o)
+        && Objects.equals(unchanged, other.unchanged)
+        && Objects.equals(reindexHandle, other.reindexHandle);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("labels", labels)
+        .add("comments", comments)
+        .add("revision", revision)
+        .add("unchanged", unchanged)
+        .add("reindexHandle", reindexHandle)
+        .toString();
+  }
+}
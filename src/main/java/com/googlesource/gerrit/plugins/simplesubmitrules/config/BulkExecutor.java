@@ -0,0 +1,54 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+
+/** Bounded thread pool running the per-project work of the bulk endpoints. */
+@Singleton
+public class BulkExecutor implements LifecycleListener {
+  static final String KEY_BULK_THREADS = "bulkThreads";
+  private static final int DEFAULT_BULK_THREADS = 4;
+
+  private final ExecutorService executor;
+
+  @Inject
+  BulkExecutor(
+      WorkQueue workQueue, PluginConfigFactory pluginConfigFactory, @PluginName String pluginName) {
+    int threads =
+        pluginConfigFactory
+            .getFromGerritConfig(pluginName)
+            .getInt(KEY_BULK_THREADS, DEFAULT_BULK_THREADS);
+    this.executor = workQueue.createQueue(Math.max(threads, 1), "SimpleSubmitRules-Bulk");
+  }
+
+  ExecutorService get() {
+    return executor;
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,122 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rebases an update made on an older revision of a project config onto its current revision.
+ *
+ * <p>Each setting is merged on its own: a setting the update doesn't change is left as it currently
+ * is, and a setting it changes is rejected only if it was also changed to another value since the
+ * revision the update was made on.
+ */
+final class ConfigRebaser {
+  /**
+   * Returns the settings of {@code inConfig} to apply onto {@code current}.
+   *
+   * @param inConfig the requested config.
+   * @param base the config at the revision {@code inConfig} was made on.
+   * @param current the current config.
+   * @throws PreconditionFailedException if a setting was changed both by {@code inConfig} and
+   *     since {@code base}.
+   */
+  static SubmitConfig rebase(SubmitConfig inConfig, SubmitConfig base, SubmitConfig current)
+      throws PreconditionFailedException {
+    SubmitConfig rebased = new SubmitConfig();
+    if (inConfig.comments != null) {
+      CommentsRules baseComments = base.comments != null ? base.comments : new CommentsRules();
+      CommentsRules currentComments =
+          current.comments != null ? current.comments : new CommentsRules();
+      CommentsRules merged =
+          new CommentsRules(
+              merge(
+                  "block_if_unresolved_comments",
+                  inConfig.comments.blockIfUnresolvedComments,
+                  baseComments.blockIfUnresolvedComments,
+                  currentComments.blockIfUnresolvedComments),
+              merge(
+                  "block_if_unresolved_comments_on_paths",
+                  inConfig.comments.blockIfUnresolvedCommentsOnPaths,
+                  baseComments.blockIfUnresolvedCommentsOnPaths,
+                  currentComments.blockIfUnresolvedCommentsOnPaths));
+      if (merged.blockIfUnresolvedComments != null
+          || merged.blockIfUnresolvedCommentsOnPaths != null) {
+        rebased.comments = merged;
+      }
+    }
+
+    for (Map.Entry<String, LabelDefinition> entry : inConfig.labels.entrySet()) {
+      String label = entry.getKey();
+      LabelDefinition definition = entry.getValue();
+      LabelDefinition baseDefinition = base.labels.getOrDefault(label, new LabelDefinition());
+      LabelDefinition currentDefinition = current.labels.getOrDefault(label, new LabelDefinition());
+      LabelDefinition merged =
+          new LabelDefinition(
+              merge(
+                  "function of " + label,
+                  definition.function,
+                  baseDefinition.function,
+                  currentDefinition.function),
+              merge(
+                  "ignore_self_approval of " + label,
+                  definition.ignoreSelfApproval,
+                  baseDefinition.ignoreSelfApproval,
+                  currentDefinition.ignoreSelfApproval),
+              merge(
+                  "copy_score_rules of " + label,
+                  definition.copyScoreRules,
+                  baseDefinition.copyScoreRules,
+                  currentDefinition.copyScoreRules));
+      if (merged.function != null
+          || merged.ignoreSelfApproval != null
+          || merged.copyScoreRules != null) {
+        rebased.labels.put(label, merged);
+      }
+    }
+    return rebased;
+  }
+
+  /** Returns the settings of {@code inConfig} that differ from {@code current}. */
+  static SubmitConfig diff(SubmitConfig inConfig, SubmitConfig current) {
+    try {
+      return rebase(inConfig, current, current);
+    } catch (PreconditionFailedException e) {
+      throw new IllegalStateException("a config can't conflict with itself", e);
+    }
+  }
+
+  /** Returns the value to apply, null if the update doesn't change the setting. */
+  @Nullable
+  private static <T> T merge(
+      String setting, @Nullable T requested, @Nullable T base, @Nullable T current)
+      throws PreconditionFailedException {
+    if (requested == null || requested.equals(base)) {
+      return null;
+    }
+    if (Objects.equals(base, current) || requested.equals(current)) {
+      return requested;
+    }
+    throw new PreconditionFailedException(setting + " was modified concurrently");
+  }
+
+  private ConfigRebaser() {}
+}
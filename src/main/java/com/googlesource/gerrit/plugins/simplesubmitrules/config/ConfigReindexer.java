@@ -0,0 +1,184 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.gerrit.server.index.project.ProjectIndexer;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts and reindexes the projects whose config was written.
+ *
+ * <p>By default, both happen inline. When {@code asyncReindex} is set in gerrit.config, only the
+ * eviction does: reindexing is queued, and the requests for a project that is already waiting in
+ * the queue are coalesced into a single reindex. Projects are only tracked while they have a
+ * reindex queued, or when their last reindex failed.
+ */
+@Singleton
+public class ConfigReindexer implements LifecycleListener {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  static final String KEY_ASYNC_REINDEX = "asyncReindex";
+
+  /** Status of the reindex identified by a handle. */
+  public enum Status {
+    PENDING,
+    DONE,
+    FAILED
+  }
+
+  private final ProjectCache projectCache;
+  private final Provider<ProjectIndexer> projectIndexer;
+  private final WorkQueue workQueue;
+  private final boolean async;
+  /** Handles are unique across projects, so that a handle never matches a later request. */
+  private final AtomicLong lastHandle = new AtomicLong();
+
+  private final ConcurrentMap<Project.NameKey, State> states = new ConcurrentHashMap<>();
+
+  private volatile ExecutorService executor;
+
+  @Inject
+  ConfigReindexer(
+      ProjectCache projectCache,
+      Provider<ProjectIndexer> projectIndexer,
+      WorkQueue workQueue,
+      PluginConfigFactory pluginConfigFactory,
+      @PluginName String pluginName) {
+    this.projectCache = projectCache;
+    this.projectIndexer = projectIndexer;
+    this.workQueue = workQueue;
+    this.async =
+        pluginConfigFactory.getFromGerritConfig(pluginName).getBoolean(KEY_ASYNC_REINDEX, false);
+  }
+
+  @Override
+  public void start() {
+    if (async) {
+      // A single thread: the reindexes of a project never overlap, and complete in order.
+      executor = workQueue.createQueue(1, "SimpleSubmitRules-Reindex");
+    }
+  }
+
+  @Override
+  public void stop() {
+    ExecutorService executor = this.executor;
+    if (executor != null) {
+      // Requests made from now on reindex inline.
+      this.executor = null;
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Evicts the project from the project cache, and reindexes it.
+   *
+   * @return null if the project was reindexed inline, otherwise the handle to pass to {@link
+   *     #status} to know whether the queued reindex is done.
+   */
+  @Nullable
+  public Long evictAndReindex(Project.NameKey project) {
+    ExecutorService executor = this.executor;
+    if (executor == null) {
+      projectCache.evictAndReindex(project);
+      return null;
+    }
+
+    projectCache.evict(project);
+    long handle = lastHandle.incrementAndGet();
+    AtomicBoolean schedule = new AtomicBoolean();
+    State state =
+        states.compute(
+            project,
+            (p, s) -> {
+              if (s == null) {
+                s = new State();
+              }
+              s.requested = handle;
+              if (!s.queued) {
+                s.queued = true;
+                schedule.set(true);
+              }
+              return s;
+            });
+    if (schedule.get()) {
+      try {
+        executor.execute(() -> reindex(project, state));
+      } catch (RejectedExecutionException e) {
+        // Stopped in the meantime.
+        states.remove(project, state);
+        projectCache.evictAndReindex(project);
+        return null;
+      }
+    }
+    return handle;
+  }
+
+  /** Returns the status of the reindex identified by {@code handle}. */
+  public Status status(Project.NameKey project, long handle) {
+    State state = states.get(project);
+    if (state == null || state.indexed >= handle) {
+      return Status.DONE;
+    }
+    return state.failed >= handle ? Status.FAILED : Status.PENDING;
+  }
+
+  private void reindex(Project.NameKey project, State state) {
+    // Requests made from now on must trigger another reindex: this one may read the project
+    // before they updated it.
+    AtomicLong requested = new AtomicLong();
+    states.computeIfPresent(
+        project,
+        (p, s) -> {
+          s.queued = false;
+          requested.set(s.requested);
+          return s;
+        });
+    long target = requested.get();
+    try {
+      projectIndexer.get().index(project);
+    } catch (RuntimeException e) {
+      logger.atWarning().withCause(e).log("Cannot reindex project %s", project);
+      state.failed = target;
+      return;
+    }
+    state.indexed = target;
+    // Stop tracking the project, unless it was requested again in the meantime.
+    states.computeIfPresent(project, (p, s) -> s.queued || s.requested > target ? s : null);
+  }
+
+  /** {@code requested} and {@code queued} are only accessed within {@code states.compute}. */
+  private static class State {
+    long requested;
+    boolean queued;
+    volatile long indexed;
+    volatile long failed;
+  }
+}
@@ -15,51 +15,56 @@
 package com.googlesource.gerrit.plugins.simplesubmitrules.config;
 
 import static com.google.gerrit.server.project.ProjectCache.illegalState;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.gerrit.entities.Project;
 import com.google.gerrit.extensions.restapi.AuthException;
 import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.ETagView;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
 import com.google.gerrit.extensions.restapi.Response;
 import com.google.gerrit.extensions.restapi.RestModifyView;
-import com.google.gerrit.extensions.restapi.RestReadView;
-import com.google.gerrit.server.IdentifiedUser;
-import com.google.gerrit.server.git.meta.MetaDataUpdate;
+import com.google.gerrit.server.CurrentUser;
 import com.google.gerrit.server.permissions.PermissionBackend;
 import com.google.gerrit.server.permissions.PermissionBackendException;
 import com.google.gerrit.server.permissions.ProjectPermission;
 import com.google.gerrit.server.project.ProjectCache;
-import com.google.gerrit.server.project.ProjectConfig;
 import com.google.gerrit.server.project.ProjectResource;
 import com.google.gerrit.server.project.ProjectState;
 import com.google.inject.Inject;
-import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.UpdatedSubmitConfig;
 import java.io.IOException;
 import org.eclipse.jgit.errors.ConfigInvalidException;
 
 /** REST Endpoint to configure labels and our simple submit rules */
 @Singleton
 public class ConfigServlet
-    implements RestReadView<ProjectResource>, RestModifyView<ProjectResource, SubmitConfig> {
+    implements ETagView<ProjectResource>, RestModifyView<ProjectResource, SubmitConfig> {
+  /**
+   * Version of the shape of {@link SubmitConfig}, part of the ETag: bump it whenever a field is
+   * added, removed or changes meaning, so that clients don't keep a response of the former shape.
+   */
+  private static final int RESPONSE_VERSION = 1;
+
   private final ProjectCache projectCache;
-  private final ProjectConfig.Factory projectConfigFactory;
   private final PermissionBackend permissionBackend;
-  private final Provider<MetaDataUpdate.User> metaDataUpdateFactory;
-  private final ConfigTranslator configTranslator;
+  private final EffectiveConfigCache effectiveConfigCache;
+  private final ConfigWriteCoalescer configWriteCoalescer;
 
   @Inject
   ConfigServlet(
       ProjectCache projectCache,
       PermissionBackend permissionBackend,
-      Provider<MetaDataUpdate.User> metaDataUpdateFactory,
-      ConfigTranslator configTranslator,
-      ProjectConfig.Factory projectConfigFactory) {
+      EffectiveConfigCache effectiveConfigCache,
+      ConfigWriteCoalescer configWriteCoalescer) {
     this.projectCache = projectCache;
-    this.projectConfigFactory = projectConfigFactory;
     this.permissionBackend = permissionBackend;
-    this.metaDataUpdateFactory = metaDataUpdateFactory;
-    this.configTranslator = configTranslator;
+    this.effectiveConfigCache = effectiveConfigCache;
+    this.configWriteCoalescer = configWriteCoalescer;
   }
 
   @Override
@@ -70,29 +75,52 @@ public class ConfigServlet
         .project(resource.getNameKey())
         .check(ProjectPermission.READ_CONFIG);
 
-    return Response.ok(configTranslator.convertFrom(resource.getProjectState()));
+    return Response.ok(effectiveConfigCache.get(resource.getProjectState()));
   }
 
+  /**
+   * The configuration only depends on the {@code refs/meta/config} of the project and of its
+   * parents, and on the version of its shape: while none of them moves, clients can keep using the
+   * response they already have.
+   */
   @Override
-  public Response<SubmitConfig> apply(ProjectResource resource, SubmitConfig inConfig)
-      throws PermissionBackendException, AuthException, BadRequestException, ConfigInvalidException,
-          IOException {
+  public String getETag(ProjectResource resource) {
+    Hasher h = Hashing.murmur3_128().newHasher();
+    h.putInt(RESPONSE_VERSION);
+    CurrentUser user = resource.getUser();
+    if (user.isIdentifiedUser()) {
+      h.putInt(user.getAccountId().get());
+    }
+    // Users who can't read the config never get it, not even as a 304.
+    h.putBoolean(
+        permissionBackend
+            .user(user)
+            .project(resource.getNameKey())
+            .testOrFalse(ProjectPermission.READ_CONFIG));
+    for (ProjectState projectState : resource.getProjectState().tree()) {
+      h.putString(projectState.getName(), UTF_8);
+      projectState.getConfig().getRevision().ifPresent(rev -> h.putString(rev.name(), UTF_8));
+    }
+    return h.hash().toString();
+  }
+
+  @Override
+  public Response<UpdatedSubmitConfig> apply(ProjectResource resource, SubmitConfig inConfig)
+      throws PermissionBackendException, AuthException, BadRequestException,
+          PreconditionFailedException, ConfigInvalidException, IOException {
     Project.NameKey projectName = resource.getNameKey();
     permissionBackend
         .user(resource.getUser())
         .project(resource.getNameKey())
         .check(ProjectPermission.WRITE_CONFIG);
 
-    IdentifiedUser user = resource.getUser().asIdentifiedUser();
-    try (MetaDataUpdate md = metaDataUpdateFactory.get().create(projectName, user)) {
-      ProjectConfig projectConfig = projectConfigFactory.read(md);
-      configTranslator.applyTo(inConfig, projectConfig);
-      projectConfig.commit(md);
-      projectCache.evictAndReindex(projectName);
-    }
+    ConfigWriteCoalescer.Result result =
+        configWriteCoalescer.write(projectName, resource.getUser().asIdentifiedUser(), inConfig);
 
     ProjectState projectState =
         projectCache.get(projectName).orElseThrow(illegalState(projectName));
-    return Response.ok(configTranslator.convertFrom(projectState));
+    return Response.ok(
+        new UpdatedSubmitConfig(
+            effectiveConfigCache.get(projectState), !result.updated(), result.reindexHandle()));
   }
 }
@@ -16,43 +16,45 @@ package com.googlesource.gerrit.plugins.simplesubmitrules.config;
 
 import static com.google.gerrit.server.project.ProjectCache.illegalState;
 
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableMap;
 import com.google.gerrit.common.Nullable;
-import com.google.gerrit.entities.LabelFunction;
 import com.google.gerrit.entities.LabelType;
+import com.google.gerrit.entities.Project;
 import com.google.gerrit.extensions.annotations.PluginName;
 import com.google.gerrit.extensions.restapi.BadRequestException;
 import com.google.gerrit.server.config.PluginConfig;
-import com.google.gerrit.server.config.PluginConfigFactory;
 import com.google.gerrit.server.project.ProjectCache;
 import com.google.gerrit.server.project.ProjectConfig;
 import com.google.gerrit.server.project.ProjectState;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
 import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
 import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
 import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jgit.lib.ObjectId;
 
 /** Codec class used to convert {@link SubmitConfig} from/to a Gerrit config */
 @Singleton
 public final class ConfigTranslator {
   private final ProjectCache projectCache;
-  private final PluginConfigFactory pluginConfigFactory;
+  private final Provider<HostPolicy> hostPolicy;
   private final String pluginName;
 
   @Inject
   public ConfigTranslator(
-      ProjectCache projectCache,
-      PluginConfigFactory pluginConfigFactory,
-      @PluginName String pluginName) {
+      ProjectCache projectCache, Provider<HostPolicy> hostPolicy, @PluginName String pluginName) {
     this.projectCache = projectCache;
-    this.pluginConfigFactory = pluginConfigFactory;
+    this.hostPolicy = hostPolicy;
     this.pluginName = pluginName;
   }
 
@@ -79,15 +81,8 @@ public final class ConfigTranslator {
     }
   }
 
-  static void applyCopyScoreRulesTo(
-      Set<String> copyScoreRules, Set<String> disallowedCopyScoreRules, LabelType.Builder labelType)
-      throws BadRequestException {
-    Set<String> disallowed =
-        Sets.intersection(ImmutableSet.copyOf(copyScoreRules), disallowedCopyScoreRules);
-    if (!disallowed.isEmpty()) {
-      throw new BadRequestException("copy score rules " + disallowed + " are forbidden");
-    }
-
+  /** Sets the copy score rules of the label, once checked by {@link HostPolicy#check}. */
+  static void applyCopyScoreRulesTo(Set<String> copyScoreRules, LabelType.Builder labelType) {
     labelType.setCopyMinScore(copyScoreRules.contains(ProjectConfig.KEY_COPY_MIN_SCORE));
     labelType.setCopyMaxScore(copyScoreRules.contains(ProjectConfig.KEY_COPY_MAX_SCORE));
     labelType.setCopyAllScoresIfNoChange(
@@ -100,56 +95,74 @@ public final class ConfigTranslator {
         copyScoreRules.contains(ProjectConfig.KEY_COPY_ALL_SCORES_ON_TRIVIAL_REBASE));
   }
 
-  SubmitConfig convertFrom(ProjectState projectState) {
+  /** Converts the effective config of a project, with inheritance already resolved. */
+  static SubmitConfig convertFrom(EffectiveConfig effectiveConfig) {
     SubmitConfig submitConfig = new SubmitConfig();
-    PluginConfig config =
-        pluginConfigFactory.getFromProjectConfigWithInheritance(projectState, pluginName);
-
     submitConfig.comments =
         new CommentsRules(
-            config.getBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false));
-
-    projectState
+            effectiveConfig.blockIfUnresolvedComments(),
+            effectiveConfig.blockIfUnresolvedCommentsOnPaths());
+    ObjectId revision = effectiveConfig.revision();
+    submitConfig.revision = revision != null ? revision.name() : null;
+    effectiveConfig
         .getLabelTypes()
-        .getLabelTypes()
-        .forEach(
-            labelType -> {
-              extractLabelSettings(labelType, submitConfig);
-            });
-
+        .forEach(labelType -> extractLabelSettings(labelType, submitConfig));
     return submitConfig;
   }
 
-  void applyTo(SubmitConfig inConfig, ProjectConfig projectConfig)
-      throws BadRequestException, IOException {
-    PluginConfig hostPluginConfig = pluginConfigFactory.getFromGerritConfig(pluginName);
+  /**
+   * Checks {@code inConfig} against the restrictions set in gerrit.config. They are the same for
+   * all the projects, so that an update of many projects can be rejected before any of them is
+   * written.
+   */
+  void validate(SubmitConfig inConfig) throws BadRequestException {
+    if (inConfig.comments != null && inConfig.comments.blockIfUnresolvedCommentsOnPaths != null) {
+      for (String path : inConfig.comments.blockIfUnresolvedCommentsOnPaths) {
+        if (path == null || path.replace('/', ' ').trim().isEmpty()) {
+          throw new BadRequestException("empty path in block_if_unresolved_comments_on_paths");
+        }
+      }
+    }
+    HostPolicy policy = hostPolicy.get();
+    for (Map.Entry<String, LabelDefinition> entry : inConfig.labels.entrySet()) {
+      policy.check(entry.getKey(), entry.getValue());
+    }
+  }
 
-    applyCommentRulesTo(inConfig.comments, projectConfig, pluginName);
-    applyLabelsTo(inConfig.labels, projectConfig, hostPluginConfig);
+  /**
+   * Applies {@code inConfig} to {@code projectConfig}.
+   *
+   * @return false if {@code projectConfig} already had this config, in which case it doesn't need
+   *     to be saved.
+   */
+  boolean applyTo(SubmitConfig inConfig, ProjectConfig projectConfig)
+      throws BadRequestException, IOException {
+    ImmutableMap<String, LabelType> labelsBefore =
+        ImmutableMap.copyOf(projectConfig.getLabelSections());
+    boolean commentsChanged = applyCommentRulesTo(inConfig.comments, projectConfig, pluginName);
+    applyLabelsTo(inConfig.labels, projectConfig, hostPolicy.get());
+    return commentsChanged || !labelsBefore.equals(projectConfig.getLabelSections());
   }
 
   private void applyLabelsTo(
-      Map<String, LabelDefinition> labels,
-      ProjectConfig projectConfig,
-      PluginConfig hostPluginConfig)
+      Map<String, LabelDefinition> labels, ProjectConfig projectConfig, HostPolicy policy)
       throws BadRequestException, IOException {
     if (labels.isEmpty()) {
       return;
     }
 
+    Map<String, LabelType> overridableLabelTypes = null;
     for (Map.Entry<String, LabelDefinition> entry : labels.entrySet()) {
       if (!projectConfig.getLabelSections().containsKey(entry.getKey())) {
         // The current project does not have this label. Try to copy it down from the inherited
         // labels to be able to modify it locally.
-        Map<String, LabelType> copiedLabelTypes = projectConfig.getLabelSections();
-        ProjectState projectState =
-            projectCache
-                .get(projectConfig.getName())
-                .orElseThrow(illegalState(projectConfig.getName()));
-        projectState.getLabelTypes().getLabelTypes().stream()
-            .filter(l -> l.getName().equals(entry.getKey()))
-            .filter(l -> l.isCanOverride())
-            .forEach(l -> copiedLabelTypes.put(l.getName(), l));
+        if (overridableLabelTypes == null) {
+          overridableLabelTypes = getOverridableLabelTypes(projectConfig.getName());
+        }
+        LabelType inherited = overridableLabelTypes.get(entry.getKey());
+        if (inherited != null) {
+          projectConfig.getLabelSections().put(inherited.getName(), inherited);
+        }
       }
 
       String label = entry.getKey();
@@ -158,15 +171,7 @@ public final class ConfigTranslator {
         throw new BadRequestException(
             "The label " + label + " does not exist. You can't change its config.");
       }
-      if (definition.getFunction().isPresent()) {
-        Set<String> disallowedLabelFunctions =
-            ImmutableSet.copyOf(
-                hostPluginConfig.getStringList("disallowedLabelFunctions-" + label));
-        LabelFunction function = definition.getFunction().get();
-        if (disallowedLabelFunctions.contains(function.getFunctionName())) {
-          throw new BadRequestException(function.getFunctionName() + " disallowed");
-        }
-      }
+      policy.check(label, definition);
       projectConfig.updateLabelType(
           label,
           labelType -> {
@@ -180,15 +185,24 @@ public final class ConfigTranslator {
 
       if (definition.copyScoreRules != null) {
         LabelType.Builder builder = projectConfig.getLabelSections().get(label).toBuilder();
-        Set<String> disallowedCopyScoreRules =
-            ImmutableSet.copyOf(
-                hostPluginConfig.getStringList("disallowedCopyScoreRules-" + label));
-        applyCopyScoreRulesTo(definition.copyScoreRules, disallowedCopyScoreRules, builder);
+        applyCopyScoreRulesTo(definition.copyScoreRules, builder);
         projectConfig.upsertLabelType(builder.build());
       }
     }
   }
 
+  /** Returns the labels of the project that can be overridden, by name. */
+  private Map<String, LabelType> getOverridableLabelTypes(Project.NameKey project) {
+    ProjectState projectState = projectCache.get(project).orElseThrow(illegalState(project));
+    Map<String, LabelType> labelTypes = new HashMap<>();
+    for (LabelType labelType : projectState.getLabelTypes().getLabelTypes()) {
+      if (labelType.isCanOverride()) {
+        labelTypes.put(labelType.getName(), labelType);
+      }
+    }
+    return labelTypes;
+  }
+
   private static void extractLabelSettings(LabelType labelType, SubmitConfig config) {
     if (labelType == null) {
       return;
@@ -202,16 +216,58 @@ public final class ConfigTranslator {
     labelDefinition.ignoreSelfApproval = labelType.isIgnoreSelfApproval();
   }
 
-  private static void applyCommentRulesTo(
+  /**
+   * Returns the comment rules set in the config of the project itself, with null fields for the
+   * inherited ones.
+   */
+  CommentsRules getLocalCommentsRules(ProjectConfig projectConfig) {
+    CommentsRules comments = new CommentsRules();
+    PluginConfig cfg = projectConfig.getPluginConfig(pluginName);
+    String key = SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS;
+    if (cfg.getString(key) != null) {
+      comments.blockIfUnresolvedComments = cfg.getBoolean(key, false);
+    }
+    String[] paths =
+        cfg.getStringList(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH);
+    if (paths.length > 0) {
+      comments.blockIfUnresolvedCommentsOnPaths = Arrays.asList(paths);
+    }
+    return comments;
+  }
+
+  private static boolean applyCommentRulesTo(
       @Nullable CommentsRules comments, ProjectConfig projectConfig, String pluginName) {
     if (comments == null) {
-      return;
+      return false;
     }
+    AtomicBoolean changed = new AtomicBoolean();
     projectConfig.updatePluginConfig(
         pluginName,
-        cfg ->
-            cfg.setBoolean(
-                SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS,
-                comments.blockIfUnresolvedComments));
+        cfg -> {
+          if (comments.blockIfUnresolvedComments != null) {
+            String key = SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS;
+            // A key set locally to its inherited value still overrides the parents: only a key
+            // already set to the same value is left unchanged.
+            if (cfg.getString(key) == null
+                || cfg.getBoolean(key, false) != comments.blockIfUnresolvedComments) {
+              changed.set(true);
+            }
+            cfg.setBoolean(key, comments.blockIfUnresolvedComments);
+          }
+          if (comments.blockIfUnresolvedCommentsOnPaths != null) {
+            String key = SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH;
+            List<String> paths = comments.blockIfUnresolvedCommentsOnPaths;
+            if (!Arrays.asList(cfg.getStringList(key)).equals(paths)) {
+              changed.set(true);
+              if (paths.isEmpty()) {
+                // An empty list inherits the paths of the parents.
+                cfg.unset(key);
+              } else {
+                cfg.setStringList(key, paths);
+              }
+            }
+          }
+        });
+    return changed.get();
   }
 }
@@ -0,0 +1,192 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.gerrit.server.project.ProjectCache.illegalState;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.google.gerrit.git.LockFailureException;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.git.meta.MetaDataUpdate;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectConfig;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.gerrit.server.update.RetryHelper;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import java.io.IOException;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Writes a {@link SubmitConfig} to the {@code refs/meta/config} of a project.
+ *
+ * <p>When the config has a {@link SubmitConfig#revision}, and {@code refs/meta/config} moved since
+ * that revision, the update is rebased onto the current revision with {@link ConfigRebaser}.
+ * Updates failing because {@code refs/meta/config} moved while they were written are retried with
+ * {@link RetryHelper}.
+ *
+ * <p>The project cache is left alone: callers evict and reindex the updated projects, once they
+ * are done with all of them.
+ */
+@Singleton
+class ConfigUpdater {
+  private final ProjectCache projectCache;
+  private final ProjectConfig.Factory projectConfigFactory;
+  private final Provider<MetaDataUpdate.User> metaDataUpdateFactory;
+  private final ConfigTranslator configTranslator;
+  private final Provider<EffectiveConfigCache> effectiveConfigCache;
+  private final RetryHelper retryHelper;
+
+  @Inject
+  ConfigUpdater(
+      ProjectCache projectCache,
+      ProjectConfig.Factory projectConfigFactory,
+      Provider<MetaDataUpdate.User> metaDataUpdateFactory,
+      ConfigTranslator configTranslator,
+      Provider<EffectiveConfigCache> effectiveConfigCache,
+      RetryHelper retryHelper) {
+    this.projectCache = projectCache;
+    this.projectConfigFactory = projectConfigFactory;
+    this.metaDataUpdateFactory = metaDataUpdateFactory;
+    this.configTranslator = configTranslator;
+    this.effectiveConfigCache = effectiveConfigCache;
+    this.retryHelper = retryHelper;
+  }
+
+  /**
+   * Returns false, without writing anything, if the project already has this config: there is
+   * nothing to evict nor reindex then.
+   *
+   * @throws PreconditionFailedException if the config conflicts with changes made since its
+   *     revision.
+   */
+  boolean update(Project.NameKey projectName, IdentifiedUser user, SubmitConfig inConfig)
+      throws BadRequestException, PreconditionFailedException, ConfigInvalidException,
+          IOException {
+    ObjectId revision = parseRevision(inConfig.revision);
+    try {
+      // When someone else updated refs/meta/config in the meantime, it is read again, and rebased
+      // onto if needed.
+      return retryHelper
+          .pluginUpdate(
+              "updateSubmitConfig", () -> tryUpdate(projectName, user, inConfig, revision))
+          .retryOn(LockFailureException.class::isInstance)
+          .call();
+    } catch (Exception e) {
+      Throwables.throwIfUnchecked(e);
+      Throwables.throwIfInstanceOf(e, BadRequestException.class);
+      Throwables.throwIfInstanceOf(e, PreconditionFailedException.class);
+      Throwables.throwIfInstanceOf(e, ConfigInvalidException.class);
+      Throwables.throwIfInstanceOf(e, IOException.class);
+      throw new StorageException("Cannot update the submit config of " + projectName, e);
+    }
+  }
+
+  private boolean tryUpdate(
+      Project.NameKey projectName,
+      IdentifiedUser user,
+      SubmitConfig inConfig,
+      @Nullable ObjectId revision)
+      throws BadRequestException, PreconditionFailedException, ConfigInvalidException,
+          IOException {
+    try (MetaDataUpdate md = metaDataUpdateFactory.get().create(projectName, user)) {
+      ProjectConfig projectConfig = projectConfigFactory.read(md);
+      SubmitConfig toApply = inConfig;
+      if (revision != null && !revision.equals(projectConfig.getRevision())) {
+        toApply = rebase(md, inConfig, revision, projectConfig);
+      }
+      if (!configTranslator.applyTo(toApply, projectConfig)) {
+        return false;
+      }
+      projectConfig.commit(md);
+      return true;
+    }
+  }
+
+  private SubmitConfig rebase(
+      MetaDataUpdate md, SubmitConfig inConfig, ObjectId revision, ProjectConfig current)
+      throws PreconditionFailedException, ConfigInvalidException, IOException {
+    checkAncestor(md, revision, current.getRevision());
+    ProjectConfig base = projectConfigFactory.read(md, revision);
+
+    // Both revisions are compared with the current settings of the parent: only the changes made
+    // to the project itself matter.
+    Project.NameKey projectName = current.getName();
+    ProjectState projectState =
+        projectCache.get(projectName).orElseThrow(illegalState(projectName));
+    ProjectState parentState = Iterables.getFirst(projectState.parents(), null);
+    EffectiveConfig parent =
+        parentState != null ? effectiveConfigCache.get().getEffectiveConfig(parentState) : null;
+
+    return ConfigRebaser.rebase(inConfig, convertFrom(base, parent), convertFrom(current, parent));
+  }
+
+  /**
+   * Checks that {@code revision} is a former revision of {@code refs/meta/config}: rebasing from
+   * any other commit would apply a diff that has nothing to do with the config of the project.
+   */
+  private static void checkAncestor(
+      MetaDataUpdate md, ObjectId revision, @Nullable ObjectId current)
+      throws PreconditionFailedException, IOException {
+    try (RevWalk rw = new RevWalk(md.getRepository())) {
+      RevCommit base;
+      try {
+        base = rw.parseCommit(revision);
+      } catch (MissingObjectException | IncorrectObjectTypeException e) {
+        throw new PreconditionFailedException("unknown revision " + revision.name());
+      }
+      if (current == null || !rw.isMergedInto(base, rw.parseCommit(current))) {
+        throw new PreconditionFailedException(
+            "revision " + revision.name() + " is not a revision of " + RefNames.REFS_CONFIG);
+      }
+    }
+  }
+
+  private SubmitConfig convertFrom(ProjectConfig projectConfig, @Nullable EffectiveConfig parent) {
+    return ConfigTranslator.convertFrom(
+        EffectiveConfig.create(
+            projectConfig.getName(),
+            projectConfig.getRevision(),
+            projectConfig.getLabelSections().values(),
+            configTranslator.getLocalCommentsRules(projectConfig),
+            parent));
+  }
+
+  @Nullable
+  private static ObjectId parseRevision(@Nullable String revision) throws BadRequestException {
+    if (revision == null) {
+      return null;
+    }
+    try {
+      return ObjectId.fromString(revision);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("invalid revision " + revision);
+    }
+  }
+}
@@ -0,0 +1,333 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Throwables;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.config.ConfigUtil;
+import com.google.gerrit.server.config.GerritServerConfig;
+import com.google.gerrit.server.git.WorkQueue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.eclipse.jgit.lib.Config;
+
+/**
+ * Writes the config updates of the REST API, and evicts and reindexes the updated projects.
+ *
+ * <p>When {@code writeCoalescingWindow} is set in gerrit.config, the updates of a project made by
+ * the same user within that window are merged into a single commit, followed by a single
+ * eviction. Updates setting the same setting to different values are not merged: the later one
+ * gets its own commit, after the earlier one, as if both had been written one after the other.
+ * Updates with a {@link SubmitConfig#revision} are never merged, as they need to be checked
+ * against the revision on their own.
+ *
+ * <p>The batch is written on the default work queue once its window is over, while the requests
+ * that joined it wait for their result, for a bounded time.
+ */
+@Singleton
+public class ConfigWriteCoalescer {
+  static final String KEY_WRITE_COALESCING_WINDOW = "writeCoalescingWindow";
+
+  /** Bounds the time a request waits for its batch to be written, once its window is over. */
+  private static final long WRITE_TIMEOUT_MILLIS = SECONDS.toMillis(60);
+
+  @AutoValue
+  abstract static class Result {
+    static Result create(boolean updated, @Nullable Long reindexHandle) {
+      return new AutoValue_ConfigWriteCoalescer_Result(updated, reindexHandle);
+    }
+
+    /** Whether a commit was made: false if the project already had the requested config. */
+    abstract boolean updated();
+
+    /** Handle of the queued reindex, see {@link ConfigReindexer#evictAndReindex}. */
+    @Nullable
+    abstract Long reindexHandle();
+  }
+
+  @AutoValue
+  abstract static class BatchKey {
+    static BatchKey create(Project.NameKey project, Account.Id accountId) {
+      return new AutoValue_ConfigWriteCoalescer_BatchKey(project, accountId);
+    }
+
+    abstract Project.NameKey project();
+
+    abstract Account.Id accountId();
+  }
+
+  private final ConfigUpdater configUpdater;
+  private final ConfigReindexer configReindexer;
+  private final WorkQueue workQueue;
+  private final long windowMillis;
+  private final ConcurrentMap<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+  @Inject
+  ConfigWriteCoalescer(
+      ConfigUpdater configUpdater,
+      ConfigReindexer configReindexer,
+      WorkQueue workQueue,
+      @GerritServerConfig Config cfg,
+      @PluginName String pluginName) {
+    this.configUpdater = configUpdater;
+    this.configReindexer = configReindexer;
+    this.workQueue = workQueue;
+    this.windowMillis =
+        ConfigUtil.getTimeUnit(
+            cfg, "plugin", pluginName, KEY_WRITE_COALESCING_WINDOW, 0, MILLISECONDS);
+  }
+
+  Result write(Project.NameKey project, IdentifiedUser user, SubmitConfig inConfig)
+      throws BadRequestException, PreconditionFailedException, ConfigInvalidException,
+          IOException {
+    if (windowMillis <= 0 || inConfig.revision != null) {
+      return writeAlone(project, user, inConfig);
+    }
+
+    BatchKey key = BatchKey.create(project, user.getAccountId());
+    Request request = new Request(inConfig);
+    Batch batch;
+    boolean leader;
+    do {
+      Batch created = new Batch();
+      batch = openBatches.computeIfAbsent(key, k -> created);
+      leader = batch == created;
+    } while (!batch.add(request));
+
+    if (leader) {
+      // Gives the other updates of the window a chance to join this one, without holding the
+      // thread of the request meanwhile.
+      Batch toFlush = batch;
+      try {
+        @SuppressWarnings("unused")
+        Future<?> possiblyIgnoredError =
+            workQueue
+                .getDefaultQueue()
+                .schedule(() -> flush(key, toFlush, user), windowMillis, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // The server is shutting down: write the batch now.
+        flush(key, toFlush, user);
+      }
+    }
+
+    try {
+      return request.result.get(windowMillis + WRITE_TIMEOUT_MILLIS, MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while writing the config of " + project);
+    } catch (TimeoutException e) {
+      throw new IOException("timed out while writing the config of " + project, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.throwIfInstanceOf(cause, BadRequestException.class);
+      Throwables.throwIfInstanceOf(cause, PreconditionFailedException.class);
+      Throwables.throwIfInstanceOf(cause, ConfigInvalidException.class);
+      Throwables.throwIfInstanceOf(cause, IOException.class);
+      Throwables.throwIfUnchecked(cause);
+      throw new IOException(cause);
+    }
+  }
+
+  /** Closes the batch and writes its updates, completing the result of all of them. */
+  private void flush(BatchKey key, Batch batch, IdentifiedUser user) {
+    openBatches.remove(key, batch);
+    List<Request> requests = batch.close();
+    try {
+      write(key.project(), user, requests);
+    } finally {
+      // Only has an effect when writing failed with an Error: the requests must not wait for a
+      // result that never comes.
+      requests.forEach(
+          request ->
+              request.result.completeExceptionally(
+                  new StorageException("cannot write the config of " + key.project())));
+    }
+  }
+
+  private Result writeAlone(Project.NameKey project, IdentifiedUser user, SubmitConfig inConfig)
+      throws BadRequestException, PreconditionFailedException, ConfigInvalidException,
+          IOException {
+    boolean updated = configUpdater.update(project, user, inConfig);
+    return Result.create(updated, updated ? configReindexer.evictAndReindex(project) : null);
+  }
+
+  /** Writes the updates of a closed batch, completing the result of each of them. */
+  private void write(Project.NameKey project, IdentifiedUser user, List<Request> requests) {
+    List<Request> group = new ArrayList<>();
+    SubmitConfig merged = new SubmitConfig();
+    for (Request request : requests) {
+      if (!merge(merged, request.inConfig)) {
+        writeGroup(project, user, group, merged);
+        group = new ArrayList<>();
+        merged = new SubmitConfig();
+        merge(merged, request.inConfig);
+      }
+      group.add(request);
+    }
+    writeGroup(project, user, group, merged);
+  }
+
+  private void writeGroup(
+      Project.NameKey project, IdentifiedUser user, List<Request> group, SubmitConfig merged) {
+    if (group.size() == 1) {
+      writeAndComplete(project, user, group.get(0));
+      return;
+    }
+    Result result;
+    try {
+      result = writeAlone(project, user, merged);
+    } catch (Exception e) {
+      // One of the updates may be invalid on its own: don't let it fail the others.
+      group.forEach(request -> writeAndComplete(project, user, request));
+      return;
+    }
+    group.forEach(request -> request.result.complete(result));
+  }
+
+  private void writeAndComplete(Project.NameKey project, IdentifiedUser user, Request request) {
+    try {
+      request.result.complete(writeAlone(project, user, request.inConfig));
+    } catch (Exception e) {
+      request.result.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Adds the settings of {@code delta} to {@code merged}.
+   *
+   * @return false, leaving {@code merged} unchanged, if {@code delta} sets a setting that is
+   *     already set to another value in {@code merged}.
+   */
+  private static boolean merge(SubmitConfig merged, SubmitConfig delta) {
+    if (delta.comments != null
+        && merged.comments != null
+        && (conflicts(
+                merged.comments.blockIfUnresolvedComments,
+                delta.comments.blockIfUnresolvedComments)
+            || conflicts(
+                merged.comments.blockIfUnresolvedCommentsOnPaths,
+                delta.comments.blockIfUnresolvedCommentsOnPaths))) {
+      return false;
+    }
+    Map<String, LabelDefinition> labels = new HashMap<>();
+    for (Map.Entry<String, LabelDefinition> entry : delta.labels.entrySet()) {
+      LabelDefinition current = merged.labels.get(entry.getKey());
+      LabelDefinition added = entry.getValue();
+      if (current == null) {
+        labels.put(entry.getKey(), copy(added));
+        continue;
+      }
+      if (conflicts(current.function, added.function)
+          || conflicts(current.ignoreSelfApproval, added.ignoreSelfApproval)
+          || conflicts(current.copyScoreRules, added.copyScoreRules)) {
+        return false;
+      }
+      LabelDefinition label = copy(current);
+      if (added.function != null) {
+        label.function = added.function;
+      }
+      if (added.ignoreSelfApproval != null) {
+        label.ignoreSelfApproval = added.ignoreSelfApproval;
+      }
+      if (added.copyScoreRules != null) {
+        label.copyScoreRules = new HashSet<>(added.copyScoreRules);
+      }
+      labels.put(entry.getKey(), label);
+    }
+
+    if (delta.comments != null) {
+      CommentsRules comments = merged.comments != null ? merged.comments : new CommentsRules();
+      merged.comments =
+          new CommentsRules(
+              delta.comments.blockIfUnresolvedComments != null
+                  ? delta.comments.blockIfUnresolvedComments
+                  : comments.blockIfUnresolvedComments,
+              delta.comments.blockIfUnresolvedCommentsOnPaths != null
+                  ? new ArrayList<>(delta.comments.blockIfUnresolvedCommentsOnPaths)
+                  : comments.blockIfUnresolvedCommentsOnPaths);
+    }
+    merged.labels.putAll(labels);
+    return true;
+  }
+
+  private static boolean conflicts(@Nullable Object a, @Nullable Object b) {
+    return a != null && b != null && !Objects.equals(a, b);
+  }
+
+  private static LabelDefinition copy(LabelDefinition definition) {
+    return new LabelDefinition(
+        definition.function,
+        definition.ignoreSelfApproval,
+        definition.copyScoreRules != null ? new HashSet<>(definition.copyScoreRules) : null);
+  }
+
+  private static class Request {
+    final SubmitConfig inConfig;
+    final CompletableFuture<Result> result = new CompletableFuture<>();
+
+    Request(SubmitConfig inConfig) {
+      this.inConfig = inConfig;
+    }
+  }
+
+  private static class Batch {
+    private final List<Request> requests = new ArrayList<>();
+    private boolean closed;
+
+    /** Returns false if the batch is already being written: the request must join another one. */
+    synchronized boolean add(Request request) {
+      if (closed) {
+        return false;
+      }
+      requests.add(request);
+      return true;
+    }
+
+    synchronized List<Request> close() {
+      closed = true;
+      return requests;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.server.project.ProjectConfig;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/** Copy score rules of a label, as named in the project config and in the REST API. */
+enum CopyScoreRule {
+  COPY_MIN_SCORE(ProjectConfig.KEY_COPY_MIN_SCORE),
+  COPY_MAX_SCORE(ProjectConfig.KEY_COPY_MAX_SCORE),
+  COPY_ALL_SCORES_IF_NO_CHANGE(ProjectConfig.KEY_COPY_ALL_SCORES_IF_NO_CHANGE),
+  COPY_ALL_SCORES_IF_NO_CODE_CHANGE(ProjectConfig.KEY_COPY_ALL_SCORES_IF_NO_CODE_CHANGE),
+  COPY_ALL_SCORES_ON_MERGE_FIRST_PARENT_UPDATE(
+      ProjectConfig.KEY_COPY_ALL_SCORES_ON_MERGE_FIRST_PARENT_UPDATE),
+  COPY_ALL_SCORES_ON_TRIVIAL_REBASE(ProjectConfig.KEY_COPY_ALL_SCORES_ON_TRIVIAL_REBASE);
+
+  private static final ImmutableMap<String, CopyScoreRule> BY_KEY =
+      Arrays.stream(values()).collect(toImmutableMap(r -> r.key, Function.identity()));
+
+  private final String key;
+
+  CopyScoreRule(String key) {
+    this.key = key;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  static Optional<CopyScoreRule> parse(String key) {
+    return Optional.ofNullable(BY_KEY.get(key));
+  }
+}
@@ -0,0 +1,152 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.LabelType;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.config.PluginConfig;
+import com.google.gerrit.server.project.ProjectState;
+import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Settings of a project once inheritance is applied, built from the effective settings of its
+ * parent and its own config.
+ */
+@AutoValue
+abstract class EffectiveConfig {
+  static EffectiveConfig create(
+      ProjectState projectState, @Nullable EffectiveConfig parent, PluginConfig localConfig) {
+    CommentsRules localComments = new CommentsRules();
+    String key = SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS;
+    if (localConfig.getString(key) != null) {
+      localComments.blockIfUnresolvedComments = localConfig.getBoolean(key, false);
+    }
+    String[] paths =
+        localConfig.getStringList(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH);
+    if (paths.length > 0) {
+      localComments.blockIfUnresolvedCommentsOnPaths = Arrays.asList(paths);
+    }
+    return create(
+        projectState.getNameKey(),
+        projectState.getConfig().getRevision().orElse(null),
+        projectState.getConfig().getLabelSections().values(),
+        localComments,
+        parent);
+  }
+
+  /**
+   * @param localComments comment rules set in the config of the project itself, with null fields
+   *     for the inherited ones.
+   */
+  static EffectiveConfig create(
+      Project.NameKey project,
+      @Nullable ObjectId revision,
+      Collection<LabelType> localLabelTypes,
+      CommentsRules localComments,
+      @Nullable EffectiveConfig parent) {
+    ImmutableMap.Builder<Project.NameKey, ObjectId> revisions = ImmutableMap.builder();
+    Map<String, LabelType> labelTypes = new LinkedHashMap<>();
+    boolean blockIfUnresolvedComments = false;
+    ImmutableList<String> blockIfUnresolvedCommentsOnPaths = ImmutableList.of();
+    if (parent != null) {
+      revisions.putAll(parent.revisions());
+      labelTypes.putAll(parent.labelTypes());
+      blockIfUnresolvedComments = parent.blockIfUnresolvedComments();
+      blockIfUnresolvedCommentsOnPaths = parent.blockIfUnresolvedCommentsOnPaths();
+    }
+    revisions.put(project, revision != null ? revision : ObjectId.zeroId());
+
+    // Same inheritance as ProjectState.getLabelTypes().
+    for (LabelType type : localLabelTypes) {
+      String name = type.getName().toLowerCase(Locale.US);
+      LabelType inherited = labelTypes.get(name);
+      if (inherited == null || inherited.isCanOverride()) {
+        labelTypes.put(name, type);
+      }
+    }
+
+    // Same inheritance as PluginConfigFactory: a key set locally overrides the parent's value.
+    if (localComments.blockIfUnresolvedComments != null) {
+      blockIfUnresolvedComments = localComments.blockIfUnresolvedComments;
+    }
+    if (localComments.blockIfUnresolvedCommentsOnPaths != null) {
+      blockIfUnresolvedCommentsOnPaths =
+          ImmutableList.copyOf(localComments.blockIfUnresolvedCommentsOnPaths);
+    }
+
+    return new AutoValue_EffectiveConfig(
+        revisions.build(),
+        ImmutableMap.copyOf(labelTypes),
+        blockIfUnresolvedComments,
+        blockIfUnresolvedCommentsOnPaths);
+  }
+
+  /**
+   * Revision of {@code refs/meta/config} of the project and of each of its parents, from
+   * All-Projects down.
+   */
+  abstract ImmutableMap<Project.NameKey, ObjectId> revisions();
+
+  /** Inherited label types by lower-case name, including the ones without values. */
+  abstract ImmutableMap<String, LabelType> labelTypes();
+
+  abstract boolean blockIfUnresolvedComments();
+
+  abstract ImmutableList<String> blockIfUnresolvedCommentsOnPaths();
+
+  /** Revision of {@code refs/meta/config} of the project itself, null if there is none. */
+  @Nullable
+  ObjectId revision() {
+    ObjectId revision = Iterables.getLast(revisions().values());
+    return revision.equals(ObjectId.zeroId()) ? null : revision;
+  }
+
+  /** Returns the label types of the project, like {@code ProjectState.getLabelTypes()} does. */
+  ImmutableList<LabelType> getLabelTypes() {
+    return labelTypes().values().stream()
+        .filter(type -> !type.getValues().isEmpty())
+        .collect(toImmutableList());
+  }
+
+  /** Returns true if neither the project nor its parents were updated since this was built. */
+  boolean isUpToDate(ProjectState projectState) {
+    int projects = 0;
+    for (ProjectState state : projectState.tree()) {
+      if (!revisionOf(state).equals(revisions().get(state.getNameKey()))) {
+        return false;
+      }
+      projects++;
+    }
+    return projects == revisions().size();
+  }
+
+  private static ObjectId revisionOf(ProjectState projectState) {
+    return projectState.getConfig().getRevision().orElse(ObjectId.zeroId());
+  }
+}
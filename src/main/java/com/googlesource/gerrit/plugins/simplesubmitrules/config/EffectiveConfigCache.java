@@ -0,0 +1,122 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.GitReferenceUpdatedListener;
+import com.google.gerrit.extensions.registration.DynamicSet;
+import com.google.gerrit.server.cache.CacheModule;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+
+/**
+ * Cache of the {@link EffectiveConfig} of each project.
+ *
+ * <p>Entries are built from the entry of the parent project, so that the projects sharing a parent
+ * share the work of resolving its inheritance. Each entry holds the revisions of the project and
+ * of its parents it was built from, and is checked against them on every lookup: when the {@code
+ * refs/meta/config} of a project is updated, only the entry of that project is evicted, and the
+ * entries of the projects inheriting from it are rebuilt the next time they are looked up.
+ *
+ * <p>The cache has no loader: building an entry needs the entry of the parent, and caches can't be
+ * read from within their own loader. The inheritance chain is walked from its root instead, only
+ * building the entries that are missing or outdated.
+ */
+@Singleton
+public class EffectiveConfigCache {
+  static final String CACHE_NAME = "effective_configs";
+
+  public static Module module() {
+    return new CacheModule() {
+      @Override
+      protected void configure() {
+        cache(CACHE_NAME, Project.NameKey.class, EffectiveConfig.class);
+        bind(EffectiveConfigCache.class);
+        DynamicSet.bind(binder(), GitReferenceUpdatedListener.class).to(Invalidator.class);
+      }
+    };
+  }
+
+  private final Cache<Project.NameKey, EffectiveConfig> cache;
+  private final PluginConfigFactory pluginConfigFactory;
+  private final String pluginName;
+
+  @Inject
+  EffectiveConfigCache(
+      @Named(CACHE_NAME) Cache<Project.NameKey, EffectiveConfig> cache,
+      PluginConfigFactory pluginConfigFactory,
+      @PluginName String pluginName) {
+    this.cache = cache;
+    this.pluginConfigFactory = pluginConfigFactory;
+    this.pluginName = pluginName;
+  }
+
+  /** Returns the effective config of the project, as a new object the caller may modify. */
+  SubmitConfig get(ProjectState projectState) {
+    return ConfigTranslator.convertFrom(getEffectiveConfig(projectState));
+  }
+
+  EffectiveConfig getEffectiveConfig(ProjectState projectState) {
+    EffectiveConfig config = null;
+    // tree() starts with the project itself: walk it from All-Projects down.
+    for (ProjectState state : ImmutableList.copyOf(projectState.tree()).reverse()) {
+      EffectiveConfig cached = cache.getIfPresent(state.getNameKey());
+      if (cached != null && cached.isUpToDate(state)) {
+        config = cached;
+        continue;
+      }
+      // Missing, or an update of the project or of one of its parents did not reach us yet.
+      config =
+          EffectiveConfig.create(
+              state, config, pluginConfigFactory.getFromProjectConfig(state, pluginName));
+      cache.put(state.getNameKey(), config);
+    }
+    return config;
+  }
+
+  /**
+   * Evicts the project. The entries of the projects inheriting from it are outdated too, which
+   * their next lookup finds out without scanning the cache now.
+   */
+  void evict(Project.NameKey project) {
+    cache.invalidate(project);
+  }
+
+  @Singleton
+  static class Invalidator implements GitReferenceUpdatedListener {
+    private final EffectiveConfigCache effectiveConfigCache;
+
+    @Inject
+    Invalidator(EffectiveConfigCache effectiveConfigCache) {
+      this.effectiveConfigCache = effectiveConfigCache;
+    }
+
+    @Override
+    public void onGitReferenceUpdated(Event event) {
+      if (RefNames.REFS_CONFIG.equals(event.getRefName())) {
+        effectiveConfigCache.evict(Project.nameKey(event.getProjectName()));
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.gerrit.extensions.restapi.AuthException;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestReadView;
+import com.google.gerrit.server.permissions.PermissionBackend;
+import com.google.gerrit.server.permissions.PermissionBackendException;
+import com.google.gerrit.server.permissions.ProjectPermission;
+import com.google.gerrit.server.project.ProjectResource;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.ReindexStatus;
+import org.kohsuke.args4j.Option;
+
+/** REST endpoint telling whether the reindex queued by a config update is done. */
+public class GetReindexStatus implements RestReadView<ProjectResource> {
+  private final PermissionBackend permissionBackend;
+  private final ConfigReindexer configReindexer;
+
+  @Option(
+      name = "--handle",
+      metaVar = "HANDLE",
+      usage = "reindex handle returned by the config update")
+  private Long handle;
+
+  @Inject
+  GetReindexStatus(PermissionBackend permissionBackend, ConfigReindexer configReindexer) {
+    this.permissionBackend = permissionBackend;
+    this.configReindexer = configReindexer;
+  }
+
+  @Override
+  public Response<ReindexStatus> apply(ProjectResource resource)
+      throws AuthException, BadRequestException, PermissionBackendException {
+    permissionBackend
+        .user(resource.getUser())
+        .project(resource.getNameKey())
+        .check(ProjectPermission.READ_CONFIG);
+    if (handle == null) {
+      throw new BadRequestException("handle is required");
+    }
+    ConfigReindexer.Status status = configReindexer.status(resource.getNameKey(), handle);
+    return Response.ok(
+        new ReindexStatus(
+            status == ConfigReindexer.Status.PENDING, status == ConfigReindexer.Status.FAILED));
+  }
+}
@@ -0,0 +1,78 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gerrit.entities.LabelFunction;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestReadView;
+import com.google.gerrit.server.permissions.PermissionBackend;
+import com.google.gerrit.server.permissions.ProjectPermission;
+import com.google.gerrit.server.project.ProjectResource;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelRestrictions;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfigScreen;
+
+/**
+ * REST endpoint serving the config of a project together with what the caller can do with it, so
+ * that the UI renders its config screen from a single request.
+ */
+public class GetSubmitConfigScreen implements RestReadView<ProjectResource> {
+  private final PermissionBackend permissionBackend;
+  private final EffectiveConfigCache effectiveConfigCache;
+  private final Provider<HostPolicy> hostPolicy;
+
+  @Inject
+  GetSubmitConfigScreen(
+      PermissionBackend permissionBackend,
+      EffectiveConfigCache effectiveConfigCache,
+      Provider<HostPolicy> hostPolicy) {
+    this.permissionBackend = permissionBackend;
+    this.effectiveConfigCache = effectiveConfigCache;
+    this.hostPolicy = hostPolicy;
+  }
+
+  @Override
+  public Response<SubmitConfigScreen> apply(ProjectResource resource) {
+    PermissionBackend.ForProject perm =
+        permissionBackend.user(resource.getUser()).project(resource.getNameKey());
+    SubmitConfigScreen screen = new SubmitConfigScreen();
+    screen.canReadConfig = perm.testOrFalse(ProjectPermission.READ_CONFIG);
+    screen.canWriteConfig = perm.testOrFalse(ProjectPermission.WRITE_CONFIG);
+    if (!screen.canReadConfig) {
+      return Response.ok(screen);
+    }
+
+    screen.config = effectiveConfigCache.get(resource.getProjectState());
+    HostPolicy policy = hostPolicy.get();
+    for (String label : screen.config.labels.keySet()) {
+      ImmutableSet<String> functions =
+          policy.getDisallowedLabelFunctions(label).stream()
+              .map(LabelFunction::getFunctionName)
+              .collect(toImmutableSet());
+      ImmutableSet<String> copyScoreRules =
+          policy.getDisallowedCopyScoreRules(label).stream()
+              .map(CopyScoreRule::getKey)
+              .collect(toImmutableSet());
+      if (!functions.isEmpty() || !copyScoreRules.isEmpty()) {
+        screen.labelRestrictions.put(label, new LabelRestrictions(functions, copyScoreRules));
+      }
+    }
+    return Response.ok(screen);
+  }
+}
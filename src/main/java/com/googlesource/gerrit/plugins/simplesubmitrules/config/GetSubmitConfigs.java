@@ -0,0 +1,209 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.BinaryResult;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestReadView;
+import com.google.gerrit.json.OutputFormat;
+import com.google.gerrit.server.config.ConfigResource;
+import com.google.gerrit.server.permissions.PermissionBackend;
+import com.google.gerrit.server.permissions.PermissionBackendException;
+import com.google.gerrit.server.permissions.ProjectPermission;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.ProjectSubmitConfig;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.kohsuke.args4j.Option;
+
+/**
+ * REST endpoint streaming the effective {@code SubmitConfig} of many projects, one JSON object per
+ * line, in the order they are computed.
+ *
+ * <p>Only the projects the caller can read the configuration of are returned.
+ */
+public class GetSubmitConfigs implements RestReadView<ConfigResource> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final Gson GSON = OutputFormat.JSON_COMPACT.newGson();
+
+  private final ProjectCache projectCache;
+  private final PermissionBackend permissionBackend;
+  private final EffectiveConfigCache effectiveConfigCache;
+  private final BulkExecutor bulkExecutor;
+
+  @Option(
+      name = "--prefix",
+      metaVar = "PREFIX",
+      usage = "only read the projects whose name starts with PREFIX")
+  private String prefix;
+
+  @Option(
+      name = "--regex",
+      aliases = {"-r"},
+      metaVar = "REGEX",
+      usage = "only read the projects whose name matches REGEX")
+  private String regex;
+
+  @Option(
+      name = "--project",
+      aliases = {"-p"},
+      metaVar = "PROJECT",
+      usage = "project to read, can be repeated; all projects when omitted")
+  private List<String> projects = new ArrayList<>();
+
+  @Inject
+  GetSubmitConfigs(
+      ProjectCache projectCache,
+      PermissionBackend permissionBackend,
+      EffectiveConfigCache effectiveConfigCache,
+      BulkExecutor bulkExecutor) {
+    this.projectCache = projectCache;
+    this.permissionBackend = permissionBackend;
+    this.effectiveConfigCache = effectiveConfigCache;
+    this.bulkExecutor = bulkExecutor;
+  }
+
+  @Override
+  public Response<BinaryResult> apply(ConfigResource resource)
+      throws BadRequestException, PermissionBackendException {
+    Predicate<String> nameFilter = nameFilter();
+    Collection<Project.NameKey> candidates =
+        projects.isEmpty()
+            ? projectCache.all()
+            : projects.stream().map(Project::nameKey).distinct().collect(toImmutableList());
+
+    List<ProjectSubmitConfig> notFound = new ArrayList<>();
+    List<Project.NameKey> existing = new ArrayList<>();
+    for (Project.NameKey project : candidates) {
+      if (!nameFilter.test(project.get())) {
+        continue;
+      }
+      if (projectCache.get(project).isPresent()) {
+        existing.add(project);
+      } else {
+        notFound.add(new ProjectSubmitConfig(project.get(), null, "not found"));
+      }
+    }
+
+    Set<Project.NameKey> readable =
+        permissionBackend.currentUser().filter(ProjectPermission.READ_CONFIG, existing);
+    if (!projects.isEmpty()) {
+      // Explicitly requested projects that can't be read are reported as missing, so that their
+      // existence is not disclosed.
+      existing.stream()
+          .filter(p -> !readable.contains(p))
+          .forEach(p -> notFound.add(new ProjectSubmitConfig(p.get(), null, "not found")));
+    }
+
+    return Response.ok(
+        new BinaryResult() {
+          @Override
+          public void writeTo(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+            for (ProjectSubmitConfig result : notFound) {
+              write(writer, result);
+            }
+            stream(ImmutableList.copyOf(readable), writer);
+            writer.flush();
+          }
+        }.setContentType("application/x-ndjson").setCharacterSet(UTF_8));
+  }
+
+  private Predicate<String> nameFilter() throws BadRequestException {
+    Predicate<String> filter = name -> true;
+    if (prefix != null) {
+      filter = filter.and(name -> name.startsWith(prefix));
+    }
+    if (regex != null) {
+      Pattern pattern;
+      try {
+        pattern = Pattern.compile(regex);
+      } catch (PatternSyntaxException e) {
+        throw new BadRequestException("invalid regex: " + e.getMessage());
+      }
+      filter = filter.and(name -> pattern.matcher(name).matches());
+    }
+    return filter;
+  }
+
+  private void stream(ImmutableList<Project.NameKey> readable, Writer writer) throws IOException {
+    CompletionService<ProjectSubmitConfig> completionService =
+        new ExecutorCompletionService<>(bulkExecutor.get());
+    List<Future<ProjectSubmitConfig>> futures = new ArrayList<>(readable.size());
+    try {
+      for (Project.NameKey project : readable) {
+        futures.add(completionService.submit(() -> convert(project)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        write(writer, completionService.take().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while reading submit configs");
+    } catch (ExecutionException e) {
+      throw new IOException("cannot read submit configs", e.getCause());
+    } finally {
+      // Only has an effect when the client went away before the end of the stream.
+      futures.forEach(f -> f.cancel(true));
+    }
+  }
+
+  private ProjectSubmitConfig convert(Project.NameKey project) {
+    try {
+      Optional<ProjectState> projectState = projectCache.get(project);
+      if (!projectState.isPresent()) {
+        return new ProjectSubmitConfig(project.get(), null, "not found");
+      }
+      return new ProjectSubmitConfig(
+          project.get(), effectiveConfigCache.get(projectState.get()), null);
+    } catch (StorageException e) {
+      logger.atWarning().withCause(e).log("Cannot read the submit config of %s", project);
+      return new ProjectSubmitConfig(project.get(), null, "cannot read config");
+    }
+  }
+
+  private static void write(Writer writer, ProjectSubmitConfig result) throws IOException {
+    GSON.toJson(result, writer);
+    writer.write('\n');
+    writer.flush();
+  }
+}
@@ -0,0 +1,131 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.LabelFunction;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jgit.lib.Config;
+
+/**
+ * Restrictions set by the host on the label configs, compiled from the plugin section of
+ * gerrit.config.
+ *
+ * <p>Labels are matched case-insensitively, like the keys of gerrit.config.
+ */
+public final class HostPolicy {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  static final String KEY_DISALLOWED_LABEL_FUNCTIONS = "disallowedLabelFunctions-";
+  static final String KEY_DISALLOWED_COPY_SCORE_RULES = "disallowedCopyScoreRules-";
+
+  static final HostPolicy EMPTY = new HostPolicy(ImmutableMap.of(), ImmutableMap.of());
+
+  private final ImmutableMap<String, ImmutableSet<LabelFunction>> disallowedLabelFunctions;
+  private final ImmutableMap<String, ImmutableSet<CopyScoreRule>> disallowedCopyScoreRules;
+
+  private HostPolicy(
+      ImmutableMap<String, ImmutableSet<LabelFunction>> disallowedLabelFunctions,
+      ImmutableMap<String, ImmutableSet<CopyScoreRule>> disallowedCopyScoreRules) {
+    this.disallowedLabelFunctions = disallowedLabelFunctions;
+    this.disallowedCopyScoreRules = disallowedCopyScoreRules;
+  }
+
+  static HostPolicy compile(Config cfg, String pluginName) {
+    Map<String, EnumSet<LabelFunction>> functions = new HashMap<>();
+    Map<String, EnumSet<CopyScoreRule>> copyScoreRules = new HashMap<>();
+    for (String name : cfg.getNames("plugin", pluginName)) {
+      String lowerCaseName = name.toLowerCase(Locale.US);
+      if (lowerCaseName.startsWith(KEY_DISALLOWED_LABEL_FUNCTIONS.toLowerCase(Locale.US))) {
+        String label = lowerCaseName.substring(KEY_DISALLOWED_LABEL_FUNCTIONS.length());
+        for (String value : cfg.getStringList("plugin", pluginName, name)) {
+          Optional<LabelFunction> function = LabelFunction.parse(value);
+          if (function.isPresent()) {
+            functions
+                .computeIfAbsent(label, l -> EnumSet.noneOf(LabelFunction.class))
+                .add(function.get());
+          } else {
+            logger.atWarning().log("Ignoring unknown label function %s in %s", value, name);
+          }
+        }
+      } else if (lowerCaseName.startsWith(KEY_DISALLOWED_COPY_SCORE_RULES.toLowerCase(Locale.US))) {
+        String label = lowerCaseName.substring(KEY_DISALLOWED_COPY_SCORE_RULES.length());
+        for (String value : cfg.getStringList("plugin", pluginName, name)) {
+          Optional<CopyScoreRule> rule = CopyScoreRule.parse(value);
+          if (rule.isPresent()) {
+            copyScoreRules
+                .computeIfAbsent(label, l -> EnumSet.noneOf(CopyScoreRule.class))
+                .add(rule.get());
+          } else {
+            logger.atWarning().log("Ignoring unknown copy score rule %s in %s", value, name);
+          }
+        }
+      }
+    }
+    return new HostPolicy(immutableEnumSets(functions), immutableEnumSets(copyScoreRules));
+  }
+
+  private static <E extends Enum<E>> ImmutableMap<String, ImmutableSet<E>> immutableEnumSets(
+      Map<String, EnumSet<E>> sets) {
+    ImmutableMap.Builder<String, ImmutableSet<E>> result = ImmutableMap.builder();
+    sets.forEach((label, set) -> result.put(label, Sets.immutableEnumSet(set)));
+    return result.build();
+  }
+
+  /** Returns the label functions that can't be set on the label. */
+  public ImmutableSet<LabelFunction> getDisallowedLabelFunctions(String label) {
+    return disallowedLabelFunctions.getOrDefault(label.toLowerCase(Locale.US), ImmutableSet.of());
+  }
+
+  /** Returns the copy score rules that can't be added to the label. */
+  ImmutableSet<CopyScoreRule> getDisallowedCopyScoreRules(String label) {
+    return disallowedCopyScoreRules.getOrDefault(label.toLowerCase(Locale.US), ImmutableSet.of());
+  }
+
+  /** Checks that {@code definition} can be applied to the label. */
+  void check(String label, LabelDefinition definition) throws BadRequestException {
+    Optional<LabelFunction> function = definition.getFunction();
+    if (function.isPresent() && getDisallowedLabelFunctions(label).contains(function.get())) {
+      throw new BadRequestException(function.get().getFunctionName() + " disallowed");
+    }
+
+    if (definition.copyScoreRules != null) {
+      ImmutableSet<CopyScoreRule> disallowedRules = getDisallowedCopyScoreRules(label);
+      if (disallowedRules.isEmpty()) {
+        return;
+      }
+      List<String> disallowed = new ArrayList<>();
+      for (String key : definition.copyScoreRules) {
+        CopyScoreRule.parse(key)
+            .filter(disallowedRules::contains)
+            .ifPresent(r -> disallowed.add(key));
+      }
+      if (!disallowed.isEmpty()) {
+        throw new BadRequestException("copy score rules " + disallowed + " are forbidden");
+      }
+    }
+  }
+}
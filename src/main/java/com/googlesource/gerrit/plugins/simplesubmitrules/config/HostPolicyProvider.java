@@ -0,0 +1,53 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.common.collect.Multimap;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.config.ConfigUpdatedEvent;
+import com.google.gerrit.server.config.ConfigUpdatedEvent.ConfigUpdateEntry;
+import com.google.gerrit.server.config.ConfigUpdatedEvent.UpdateResult;
+import com.google.gerrit.server.config.GerritConfigListener;
+import com.google.gerrit.server.config.GerritServerConfig;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import org.eclipse.jgit.lib.Config;
+
+/** Provides the {@link HostPolicy}, compiled again only when gerrit.config is reloaded. */
+@Singleton
+public class HostPolicyProvider implements Provider<HostPolicy>, GerritConfigListener {
+  private final String pluginName;
+  private volatile HostPolicy hostPolicy;
+
+  @Inject
+  HostPolicyProvider(@GerritServerConfig Config cfg, @PluginName String pluginName) {
+    this.pluginName = pluginName;
+    this.hostPolicy = HostPolicy.compile(cfg, pluginName);
+  }
+
+  @Override
+  public HostPolicy get() {
+    return hostPolicy;
+  }
+
+  @Override
+  public Multimap<UpdateResult, ConfigUpdateEntry> configUpdated(ConfigUpdatedEvent event) {
+    if (event.isSectionUpdated("plugin")) {
+      hostPolicy = HostPolicy.compile(event.getNewConfig(), pluginName);
+    }
+    return ConfigUpdatedEvent.NO_UPDATES;
+  }
+}
@@ -0,0 +1,57 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import com.google.gerrit.extensions.restapi.AuthException;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestModifyView;
+import com.google.gerrit.server.permissions.PermissionBackendException;
+import com.google.gerrit.server.project.ProjectResource;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.UpdatedSubmitConfig;
+import java.io.IOException;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+
+/**
+ * REST endpoint updating only the settings that differ from the current config of the project.
+ *
+ * <p>Unlike a {@code PUT} of the same config, labels that are only inherited and not changed are
+ * not copied down to the project.
+ */
+@Singleton
+public class PatchSubmitConfig implements RestModifyView<ProjectResource, SubmitConfig> {
+  private final ConfigServlet configServlet;
+  private final EffectiveConfigCache effectiveConfigCache;
+
+  @Inject
+  PatchSubmitConfig(ConfigServlet configServlet, EffectiveConfigCache effectiveConfigCache) {
+    this.configServlet = configServlet;
+    this.effectiveConfigCache = effectiveConfigCache;
+  }
+
+  @Override
+  public Response<UpdatedSubmitConfig> apply(ProjectResource resource, SubmitConfig inConfig)
+      throws PermissionBackendException, AuthException, BadRequestException,
+          PreconditionFailedException, ConfigInvalidException, IOException {
+    SubmitConfig delta =
+        ConfigRebaser.diff(inConfig, effectiveConfigCache.get(resource.getProjectState()));
+    delta.revision = inConfig.revision;
+    return configServlet.apply(resource, delta);
+  }
+}
@@ -0,0 +1,225 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.extensions.restapi.AuthException;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.google.gerrit.extensions.restapi.BinaryResult;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.google.gerrit.extensions.restapi.Response;
+import com.google.gerrit.extensions.restapi.RestModifyView;
+import com.google.gerrit.json.OutputFormat;
+import com.google.gerrit.server.CurrentUser;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.config.ConfigResource;
+import com.google.gerrit.server.permissions.PermissionBackend;
+import com.google.gerrit.server.permissions.PermissionBackendException;
+import com.google.gerrit.server.permissions.ProjectPermission;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gson.Gson;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.BulkSubmitConfigInput;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.ProjectUpdateResult;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+
+/**
+ * REST endpoint applying the same {@link SubmitConfig} to many projects.
+ *
+ * <p>The config is validated once, then written to the projects in parallel. The projects that
+ * were actually updated are evicted from the project cache and reindexed once all of them are
+ * written. Everything is done before responding, with the outcome of each project on its own line
+ * as one JSON object, so that failures are reported with an error status rather than a truncated
+ * response.
+ */
+@Singleton
+public class PutSubmitConfigs implements RestModifyView<ConfigResource, BulkSubmitConfigInput> {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  private static final Gson GSON = OutputFormat.JSON_COMPACT.newGson();
+
+  private final Provider<CurrentUser> self;
+  private final ProjectCache projectCache;
+  private final PermissionBackend permissionBackend;
+  private final ConfigTranslator configTranslator;
+  private final ConfigUpdater configUpdater;
+  private final BulkExecutor bulkExecutor;
+  private final ConfigReindexer configReindexer;
+
+  @Inject
+  PutSubmitConfigs(
+      Provider<CurrentUser> self,
+      ProjectCache projectCache,
+      PermissionBackend permissionBackend,
+      ConfigTranslator configTranslator,
+      ConfigUpdater configUpdater,
+      BulkExecutor bulkExecutor,
+      ConfigReindexer configReindexer) {
+    this.self = self;
+    this.projectCache = projectCache;
+    this.permissionBackend = permissionBackend;
+    this.configTranslator = configTranslator;
+    this.configUpdater = configUpdater;
+    this.bulkExecutor = bulkExecutor;
+    this.configReindexer = configReindexer;
+  }
+
+  @Override
+  public Response<BinaryResult> apply(ConfigResource resource, BulkSubmitConfigInput input)
+      throws AuthException, BadRequestException, PermissionBackendException,
+          InterruptedException {
+    CurrentUser user = self.get();
+    if (!user.isIdentifiedUser()) {
+      throw new AuthException("Authentication required");
+    }
+    if (input == null || input.config == null) {
+      throw new BadRequestException("config is required");
+    }
+    if (input.projects == null || input.projects.isEmpty()) {
+      throw new BadRequestException("projects are required");
+    }
+    if (input.config.revision != null) {
+      throw new BadRequestException("revision can't be set when updating many projects");
+    }
+    configTranslator.validate(input.config);
+
+    List<ProjectUpdateResult> rejected = new ArrayList<>();
+    List<Project.NameKey> existing = new ArrayList<>();
+    for (Project.NameKey project :
+        input.projects.stream().map(Project::nameKey).distinct().collect(toImmutableList())) {
+      if (projectCache.get(project).isPresent()) {
+        existing.add(project);
+      } else {
+        rejected.add(ProjectUpdateResult.error(project.get(), "not found"));
+      }
+    }
+
+    PermissionBackend.WithUser perm = permissionBackend.user(user);
+    Set<Project.NameKey> readable = perm.filter(ProjectPermission.READ_CONFIG, existing);
+    Set<Project.NameKey> writable = perm.filter(ProjectPermission.WRITE_CONFIG, readable);
+    for (Project.NameKey project : existing) {
+      if (!readable.contains(project)) {
+        rejected.add(ProjectUpdateResult.error(project.get(), "not found"));
+      } else if (!writable.contains(project)) {
+        rejected.add(ProjectUpdateResult.error(project.get(), "not permitted"));
+      }
+    }
+
+    IdentifiedUser identifiedUser = user.asIdentifiedUser();
+    ImmutableList<Project.NameKey> toUpdate =
+        existing.stream().filter(writable::contains).collect(toImmutableList());
+    List<ProjectUpdateResult> results = new ArrayList<>(rejected);
+    List<Project.NameKey> updated = new ArrayList<>(toUpdate.size());
+    try {
+      update(toUpdate, identifiedUser, input.config, results, updated);
+    } finally {
+      evictAndReindex(updated);
+    }
+
+    StringBuilder ndjson = new StringBuilder();
+    for (ProjectUpdateResult result : results) {
+      GSON.toJson(result, ndjson);
+      ndjson.append('\n');
+    }
+    return Response.ok(
+        BinaryResult.create(ndjson.toString())
+            .setContentType("application/x-ndjson")
+            .setCharacterSet(UTF_8));
+  }
+
+  /**
+   * Updates the projects in parallel and waits for all of them, even when one of them fails, so
+   * that all the updated projects get evicted.
+   */
+  private void update(
+      ImmutableList<Project.NameKey> projects,
+      IdentifiedUser user,
+      SubmitConfig inConfig,
+      List<ProjectUpdateResult> results,
+      List<Project.NameKey> updated)
+      throws InterruptedException {
+    List<Future<ProjectUpdateResult>> futures = new ArrayList<>(projects.size());
+    for (Project.NameKey project : projects) {
+      futures.add(bulkExecutor.get().submit(() -> update(project, user, inConfig)));
+    }
+    RuntimeException failure = null;
+    for (int i = 0; i < futures.size(); i++) {
+      ProjectUpdateResult result;
+      try {
+        result = futures.get(i).get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = new StorageException("cannot update submit configs", e.getCause());
+        }
+        continue;
+      }
+      if (result.error == null && result.unchanged == null) {
+        updated.add(Project.nameKey(result.project));
+      }
+      results.add(result);
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private ProjectUpdateResult update(
+      Project.NameKey project, IdentifiedUser user, SubmitConfig inConfig) {
+    try {
+      return configUpdater.update(project, user, inConfig)
+          ? ProjectUpdateResult.updated(project.get())
+          : ProjectUpdateResult.unchanged(project.get());
+    } catch (BadRequestException | PreconditionFailedException e) {
+      return ProjectUpdateResult.error(project.get(), e.getMessage());
+    } catch (ConfigInvalidException | IOException | StorageException e) {
+      logger.atWarning().withCause(e).log("Cannot update the submit config of %s", project);
+      return ProjectUpdateResult.error(project.get(), "cannot update config");
+    }
+  }
+
+  /** Evicts the updated projects once all of them are written, in parallel. */
+  private void evictAndReindex(List<Project.NameKey> projects) {
+    List<Future<?>> futures = new ArrayList<>(projects.size());
+    for (Project.NameKey project : projects) {
+      futures.add(bulkExecutor.get().submit(() -> configReindexer.evictAndReindex(project)));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        futures.get(i).get();
+      } catch (InterruptedException e) {
+        // The remaining projects are still evicted in the background.
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException e) {
+        logger.atWarning().withCause(e.getCause()).log(
+            "Cannot evict and reindex %s", projects.get(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,45 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Resolves the rule settings through {@link RuleSettingsCache}, which follows the configuration
+ * updates of a running server.
+ *
+ * <p>Projects that enable no rule cost a lookup of their cached settings, checked against the
+ * revision of their {@code refs/meta/config} like any other project: their configuration is only
+ * parsed again once it changes.
+ */
+@Singleton
+public class CachedProjectRuleSettings implements ProjectRuleSettings {
+  private final RuleSettingsCache ruleSettingsCache;
+
+  @Inject
+  CachedProjectRuleSettings(RuleSettingsCache ruleSettingsCache) {
+    this.ruleSettingsCache = ruleSettingsCache;
+  }
+
+  @Override
+  public Optional<RuleSettings> get(Project.NameKey project) throws NoSuchProjectException {
+    RuleSettings settings = ruleSettingsCache.get(project);
+    return settings.isEnabled() ? Optional.of(settings) : Optional.empty();
+  }
+}
@@ -0,0 +1,356 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static java.util.Comparator.comparingInt;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.entities.AccountGroup;
+import com.google.gerrit.entities.PatchSetApproval;
+import java.util.List;
+
+/**
+ * Node of the tree a {@code require} expression is compiled into.
+ *
+ * <p>Trees are immutable and shared by all the evaluations on the changes of a project, until its
+ * config is updated. The children of {@code AND} and {@code OR} nodes are sorted by cost when the
+ * tree is built, so that evaluating a node stops at the cheapest child deciding its outcome.
+ *
+ * <p>A condition on data that could not be loaded is {@link Result#UNKNOWN}, and so is any node
+ * whose outcome depends on it: in particular, {@code NOT} of an unknown condition is unknown, not
+ * met.
+ */
+abstract class ChangeCondition {
+  /** Relative costs of the conditions, in the order they are evaluated. */
+  static final int LABEL_COST = 1;
+
+  static final int OWNER_GROUP_COST = 2;
+  static final int UNRESOLVED_COMMENTS_COST = 3;
+  static final int SIZE_COST = 4;
+  static final int PATH_COST = 5;
+
+  /** Outcome of a condition on a change. */
+  enum Result {
+    MET,
+    UNMET,
+    UNKNOWN;
+
+    static Result of(boolean met) {
+      return met ? MET : UNMET;
+    }
+
+    Result not() {
+      switch (this) {
+        case MET:
+          return UNMET;
+        case UNMET:
+          return MET;
+        case UNKNOWN:
+        default:
+          return UNKNOWN;
+      }
+    }
+  }
+
+  abstract Result test(ConditionContext context);
+
+  abstract int cost();
+
+  /** Returns true if the outcome depends on group membership, which changes outside the change. */
+  boolean dependsOnGroups() {
+    return false;
+  }
+
+  static ChangeCondition and(List<ChangeCondition> children) {
+    return children.size() == 1 ? children.get(0) : new And(sortByCost(children));
+  }
+
+  static ChangeCondition or(List<ChangeCondition> children) {
+    return children.size() == 1 ? children.get(0) : new Or(sortByCost(children));
+  }
+
+  static ChangeCondition not(ChangeCondition child) {
+    return new Not(child);
+  }
+
+  static ChangeCondition label(String label, Comparison comparison, int value) {
+    return new Label(label, comparison, value);
+  }
+
+  static ChangeCondition ownerIn(AccountGroup.UUID group) {
+    return new OwnerIn(group);
+  }
+
+  static ChangeCondition unresolvedComments(Comparison comparison, int value) {
+    return new UnresolvedCommentCount(comparison, value);
+  }
+
+  static ChangeCondition size(Comparison comparison, int value) {
+    return new Size(comparison, value);
+  }
+
+  static ChangeCondition path(PathMatcher paths) {
+    return new Path(paths);
+  }
+
+  private static ImmutableList<ChangeCondition> sortByCost(List<ChangeCondition> children) {
+    return ImmutableList.sortedCopyOf(comparingInt(ChangeCondition::cost), children);
+  }
+
+  /** Comparisons, the longer operators first so that {@code <=} is not read as {@code <}. */
+  enum Comparison {
+    LESS_OR_EQUAL("<="),
+    GREATER_OR_EQUAL(">="),
+    LESS("<"),
+    GREATER(">"),
+    EQUAL("=");
+
+    final String operator;
+
+    Comparison(String operator) {
+      this.operator = operator;
+    }
+
+    boolean test(int actual, int expected) {
+      switch (this) {
+        case LESS_OR_EQUAL:
+          return actual <= expected;
+        case GREATER_OR_EQUAL:
+          return actual >= expected;
+        case LESS:
+          return actual < expected;
+        case GREATER:
+          return actual > expected;
+        case EQUAL:
+        default:
+          return actual == expected;
+      }
+    }
+  }
+
+  private static final class And extends ChangeCondition {
+    private final ImmutableList<ChangeCondition> children;
+    private final int cost;
+
+    And(ImmutableList<ChangeCondition> children) {
+      this.children = children;
+      this.cost = children.stream().mapToInt(ChangeCondition::cost).sum();
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      Result result = Result.MET;
+      for (ChangeCondition child : children) {
+        Result childResult = child.test(context);
+        if (childResult == Result.UNMET) {
+          return Result.UNMET;
+        }
+        if (childResult == Result.UNKNOWN) {
+          // A later child may still be unmet, which decides the outcome.
+          result = Result.UNKNOWN;
+        }
+      }
+      return result;
+    }
+
+    @Override
+    int cost() {
+      return cost;
+    }
+
+    @Override
+    boolean dependsOnGroups() {
+      return children.stream().anyMatch(ChangeCondition::dependsOnGroups);
+    }
+  }
+
+  private static final class Or extends ChangeCondition {
+    private final ImmutableList<ChangeCondition> children;
+    private final int cost;
+
+    Or(ImmutableList<ChangeCondition> children) {
+      this.children = children;
+      this.cost = children.stream().mapToInt(ChangeCondition::cost).sum();
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      Result result = Result.UNMET;
+      for (ChangeCondition child : children) {
+        Result childResult = child.test(context);
+        if (childResult == Result.MET) {
+          return Result.MET;
+        }
+        if (childResult == Result.UNKNOWN) {
+          // A later child may still be met, which decides the outcome.
+          result = Result.UNKNOWN;
+        }
+      }
+      return result;
+    }
+
+    @Override
+    int cost() {
+      return cost;
+    }
+
+    @Override
+    boolean dependsOnGroups() {
+      return children.stream().anyMatch(ChangeCondition::dependsOnGroups);
+    }
+  }
+
+  private static final class Not extends ChangeCondition {
+    private final ChangeCondition child;
+
+    Not(ChangeCondition child) {
+      this.child = child;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      return child.test(context).not();
+    }
+
+    @Override
+    boolean dependsOnGroups() {
+      return child.dependsOnGroups();
+    }
+
+    @Override
+    int cost() {
+      return child.cost();
+    }
+  }
+
+  /** A vote on the label of the current patch set compares to the value. */
+  private static final class Label extends ChangeCondition {
+    private final String label;
+    private final Comparison comparison;
+    private final int value;
+
+    Label(String label, Comparison comparison, int value) {
+      this.label = label;
+      this.comparison = comparison;
+      this.value = value;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      for (PatchSetApproval approval : context.currentApprovals()) {
+        if (approval.label().equalsIgnoreCase(label)
+            && comparison.test(approval.value(), value)) {
+          return Result.MET;
+        }
+      }
+      return Result.UNMET;
+    }
+
+    @Override
+    int cost() {
+      return LABEL_COST;
+    }
+  }
+
+  private static final class OwnerIn extends ChangeCondition {
+    private final AccountGroup.UUID group;
+
+    OwnerIn(AccountGroup.UUID group) {
+      this.group = group;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      return Result.of(context.ownerGroups().contains(group));
+    }
+
+    @Override
+    boolean dependsOnGroups() {
+      return true;
+    }
+
+    @Override
+    int cost() {
+      return OWNER_GROUP_COST;
+    }
+  }
+
+  private static final class UnresolvedCommentCount extends ChangeCondition {
+    private final Comparison comparison;
+    private final int value;
+
+    UnresolvedCommentCount(Comparison comparison, int value) {
+      this.comparison = comparison;
+      this.value = value;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      Integer count = context.unresolvedCommentCount();
+      return count != null ? Result.of(comparison.test(count, value)) : Result.UNKNOWN;
+    }
+
+    @Override
+    int cost() {
+      return UNRESOLVED_COMMENTS_COST;
+    }
+  }
+
+  /** The number of lines inserted and deleted by the change compares to the value. */
+  private static final class Size extends ChangeCondition {
+    private final Comparison comparison;
+    private final int value;
+
+    Size(Comparison comparison, int value) {
+      this.comparison = comparison;
+      this.value = value;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      Integer size = context.changedLines();
+      return size != null ? Result.of(comparison.test(size, value)) : Result.UNKNOWN;
+    }
+
+    @Override
+    int cost() {
+      return SIZE_COST;
+    }
+  }
+
+  /** The current patch set modifies a file matching the paths. */
+  private static final class Path extends ChangeCondition {
+    private final PathMatcher paths;
+
+    Path(PathMatcher paths) {
+      this.paths = paths;
+    }
+
+    @Override
+    Result test(ConditionContext context) {
+      for (String file : context.currentFilePaths()) {
+        if (paths.matches(file)) {
+          return Result.MET;
+        }
+      }
+      return Result.UNMET;
+    }
+
+    @Override
+    int cost() {
+      return PATH_COST;
+    }
+  }
+}
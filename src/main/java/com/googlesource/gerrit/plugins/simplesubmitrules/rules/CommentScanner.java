@@ -0,0 +1,106 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static java.util.Comparator.comparing;
+
+import com.google.common.collect.Maps;
+import com.google.gerrit.entities.Account;
+import com.google.gerrit.entities.HumanComment;
+import com.google.gerrit.entities.PatchSet;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the unresolved comment threads of a change for all the scoped comment rules of a project
+ * at once.
+ *
+ * <p>The published comments are loaded and walked once, whatever the number of enabled rules.
+ * Comments are grouped into threads like Gerrit does, all the replies to a comment being in the
+ * thread of that comment, even when they branch. A thread is unresolved when the comment written
+ * last in it is: that comment is then handed to every enabled rule, which looks at its patch set,
+ * author or path.
+ *
+ * <p>The total number of unresolved threads is not counted here: the rules use the count of Gerrit
+ * for it, so that they don't depend on which other rules are enabled.
+ */
+@Singleton
+public class CommentScanner {
+  private final IdentifiedUser.GenericFactory userFactory;
+
+  @Inject
+  CommentScanner(IdentifiedUser.GenericFactory userFactory) {
+    this.userFactory = userFactory;
+  }
+
+  /** Fills the counts of the scoped rules enabled by {@code settings} into {@code result}. */
+  void scan(ChangeData cd, RuleSettings settings, UnresolvedComments result) {
+    // Walked in the order they were written, a reply comes after the comment it replies to, whose
+    // root is then already known: each comment is looked at once, without walking up its thread.
+    List<HumanComment> comments = new ArrayList<>(cd.publishedComments());
+    comments.sort(comparing(c -> c.writtenOn));
+    // UUID of the root of the thread, by the UUID of each comment.
+    Map<String, String> rootByUuid = Maps.newHashMapWithExpectedSize(comments.size());
+    // Last comment of each thread, by the UUID of the root of the thread.
+    Map<String, HumanComment> lastByRoot = new HashMap<>();
+    for (HumanComment comment : comments) {
+      String root = comment.parentUuid != null ? rootByUuid.get(comment.parentUuid) : null;
+      if (root == null) {
+        // Not a reply, or a reply to a missing comment, which starts a thread of its own.
+        root = comment.key.uuid;
+      }
+      rootByUuid.put(comment.key.uuid, root);
+      lastByRoot.put(root, comment);
+    }
+
+    PatchSet.Id latestPatchSet = cd.change().currentPatchSetId();
+    Map<Account.Id, Boolean> inGroups =
+        settings.blockIfUnresolvedCommentsFromGroups().isEmpty() ? null : new HashMap<>();
+    // Comments of a thread, and often many threads, are on the same file.
+    Map<String, Boolean> onPaths =
+        settings.blockIfUnresolvedCommentsOnPaths().isEmpty() ? null : new HashMap<>();
+    for (HumanComment comment : lastByRoot.values()) {
+      if (!comment.unresolved) {
+        continue;
+      }
+      if (settings.blockIfUnresolvedCommentsOnLatestPatchSet()
+          && comment.key.patchSetId == latestPatchSet.get()) {
+        result.onLatestPatchSet++;
+      }
+      if (inGroups != null
+          && inGroups.computeIfAbsent(comment.author.getId(), id -> isInGroups(id, settings))) {
+        result.fromGroups++;
+      }
+      if (onPaths != null
+          && onPaths.computeIfAbsent(
+              comment.key.filename, settings.blockIfUnresolvedCommentsOnPaths()::matches)) {
+        result.onPaths++;
+      }
+    }
+  }
+
+  private boolean isInGroups(Account.Id accountId, RuleSettings settings) {
+    return userFactory
+        .create(accountId)
+        .getEffectiveGroups()
+        .containsAnyOf(settings.blockIfUnresolvedCommentsFromGroups());
+  }
+}
@@ -0,0 +1,95 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.PatchSetApproval;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.account.GroupMembership;
+import com.google.gerrit.server.query.change.ChangeData;
+import java.util.List;
+
+/**
+ * Data of a change the conditions of its project look at.
+ *
+ * <p>One context is created per evaluation, so that conditions appearing in several expressions
+ * only load the data they need once, and only if an expression gets to them.
+ */
+final class ConditionContext {
+  private final ChangeData cd;
+  private final UnresolvedCommentCountCache unresolvedCommentCountCache;
+  private final IdentifiedUser.GenericFactory userFactory;
+
+  private boolean unresolvedCommentCountLoaded;
+  private Integer unresolvedCommentCount;
+  private boolean changedLinesLoaded;
+  private Integer changedLines;
+  private GroupMembership ownerGroups;
+  private boolean complete = true;
+
+  ConditionContext(
+      ChangeData cd,
+      UnresolvedCommentCountCache unresolvedCommentCountCache,
+      IdentifiedUser.GenericFactory userFactory) {
+    this.cd = cd;
+    this.unresolvedCommentCountCache = unresolvedCommentCountCache;
+    this.userFactory = userFactory;
+  }
+
+  List<PatchSetApproval> currentApprovals() {
+    return cd.currentApprovals();
+  }
+
+  GroupMembership ownerGroups() {
+    if (ownerGroups == null) {
+      ownerGroups = userFactory.create(cd.change().getOwner()).getEffectiveGroups();
+    }
+    return ownerGroups;
+  }
+
+  /** Returns the number of unresolved comments, or null if the comments could not be loaded. */
+  @Nullable
+  Integer unresolvedCommentCount() {
+    if (!unresolvedCommentCountLoaded) {
+      unresolvedCommentCount = unresolvedCommentCountCache.get(cd);
+      unresolvedCommentCountLoaded = true;
+      complete &= unresolvedCommentCount != null;
+    }
+    return unresolvedCommentCount;
+  }
+
+  /** Returns the number of inserted and deleted lines, or null if they are not known. */
+  @Nullable
+  Integer changedLines() {
+    if (!changedLinesLoaded) {
+      changedLines = cd.changedLines().map(l -> l.insertions + l.deletions).orElse(null);
+      changedLinesLoaded = true;
+      complete &= changedLines != null;
+    }
+    return changedLines;
+  }
+
+  List<String> currentFilePaths() {
+    return cd.currentFilePaths();
+  }
+
+  /**
+   * Returns false if some of the data the conditions looked at could not be loaded, in which case
+   * their outcome may change without the change being updated.
+   */
+  boolean isComplete() {
+    return complete;
+  }
+}
@@ -0,0 +1,111 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimaps;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.metrics.Timer0;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Evaluates {@link NoUnresolvedCommentsRule} on many changes at once.
+ *
+ * <p>Changes are grouped by project so that the rule settings are resolved once per project, and
+ * changes of projects that do not enable the rule never have their comments loaded.
+ */
+@Singleton
+public class NoUnresolvedCommentsBatchEvaluator {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final NoUnresolvedCommentsRule rule;
+  private final ProjectRuleSettings projectRuleSettings;
+  private final RuleMetrics metrics;
+
+  @Inject
+  NoUnresolvedCommentsBatchEvaluator(
+      NoUnresolvedCommentsRule rule,
+      ProjectRuleSettings projectRuleSettings,
+      RuleMetrics metrics) {
+    this.rule = rule;
+    this.projectRuleSettings = projectRuleSettings;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Evaluates the rule on all the given changes.
+   *
+   * @return the result of {@link NoUnresolvedCommentsRule#evaluate(ChangeData)} for each change,
+   *     in the order the changes were given.
+   */
+  public ImmutableMap<Change.Id, Optional<SubmitRecord>> evaluate(Collection<ChangeData> changes) {
+    ImmutableListMultimap<Project.NameKey, ChangeData> byProject =
+        Multimaps.index(changes, ChangeData::project);
+
+    Map<Change.Id, Optional<SubmitRecord>> results = new LinkedHashMap<>();
+    for (Project.NameKey project : byProject.keySet()) {
+      List<ChangeData> projectChanges = byProject.get(project);
+
+      Optional<RuleSettings> settings;
+      try (Timer0.Context ctx = metrics.configLookupLatency.start()) {
+        settings = projectRuleSettings.get(project);
+      } catch (NoSuchProjectException | StorageException e) {
+        logger.atSevere().withCause(e).log("Error when fetching config of project %s", project);
+        projectChanges.forEach(
+            cd ->
+                results.put(
+                    cd.getId(),
+                    metrics.recordOutcome(
+                        NoUnresolvedCommentsRule.RULE_NAME,
+                        NoUnresolvedCommentsRule.error("Error when fetching configuration"))));
+        continue;
+      }
+
+      if (!settings.isPresent()) {
+        projectChanges.forEach(
+            cd ->
+                results.put(
+                    cd.getId(),
+                    metrics.recordOutcome(NoUnresolvedCommentsRule.RULE_NAME, Optional.empty())));
+        continue;
+      }
+
+      for (ChangeData cd : projectChanges) {
+        results.computeIfAbsent(cd.getId(), id -> rule.evaluate(cd, settings.get()));
+      }
+    }
+
+    // Restore the caller's order, which the grouping by project lost.
+    ImmutableMap.Builder<Change.Id, Optional<SubmitRecord>> ordered = ImmutableMap.builder();
+    changes.stream()
+        .map(ChangeData::getId)
+        .distinct()
+        .forEach(id -> ordered.put(id, results.get(id)));
+    return ordered.build();
+  }
+}
@@ -15,22 +15,25 @@
 package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
 
 import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.common.Nullable;
 import com.google.gerrit.entities.LegacySubmitRequirement;
 import com.google.gerrit.entities.SubmitRecord;
 import com.google.gerrit.exceptions.StorageException;
-import com.google.gerrit.extensions.annotations.PluginName;
-import com.google.gerrit.server.config.PluginConfig;
-import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.metrics.Timer0;
 import com.google.gerrit.server.project.NoSuchProjectException;
 import com.google.gerrit.server.query.change.ChangeData;
 import com.google.gerrit.server.rules.SubmitRule;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
 import java.util.Collections;
 import java.util.Optional;
 
-/** Simple rule: block submission when unresolved comments are present. */
+/**
+ * Simple rule: block submission when unresolved comments are present.
+ *
+ * <p>Projects can also tolerate a number of unresolved comments, or only block on the unresolved
+ * comments of the latest patch set, of some authors or on some paths.
+ */
 @Singleton
 public class NoUnresolvedCommentsRule implements SubmitRule {
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
@@ -40,57 +43,130 @@ public class NoUnresolvedCommentsRule implements SubmitRule {
           .setType("unresolved_comments")
           .setFallbackText("Resolve all comments")
           .build();
-  private final PluginConfigFactory pluginConfigFactory;
-  private final String pluginName;
+  private final ProjectRuleSettings projectRuleSettings;
+  private final UnresolvedCommentCountCache unresolvedCommentCountCache;
+  private final SubmitRecordCache submitRecordCache;
+  private final CommentScanner commentScanner;
+  private final RuleMetrics metrics;
 
   @Inject
   public NoUnresolvedCommentsRule(
-      PluginConfigFactory pluginConfigFactory, @PluginName String pluginName) {
-    this.pluginConfigFactory = pluginConfigFactory;
-    this.pluginName = pluginName;
+      ProjectRuleSettings projectRuleSettings,
+      UnresolvedCommentCountCache unresolvedCommentCountCache,
+      SubmitRecordCache submitRecordCache,
+      CommentScanner commentScanner,
+      RuleMetrics metrics) {
+    this.projectRuleSettings = projectRuleSettings;
+    this.unresolvedCommentCountCache = unresolvedCommentCountCache;
+    this.submitRecordCache = submitRecordCache;
+    this.commentScanner = commentScanner;
+    this.metrics = metrics;
   }
 
   @Override
   public Optional<SubmitRecord> evaluate(ChangeData cd) {
-    PluginConfig config;
+    long start = System.nanoTime();
     try {
-      config = pluginConfigFactory.getFromProjectConfig(cd.project(), pluginName);
-    } catch (NoSuchProjectException e) {
+      return metrics.recordOutcome(RULE_NAME, evaluateWithSettings(cd));
+    } finally {
+      metrics.recordEvaluationLatency(RULE_NAME, System.nanoTime() - start);
+    }
+  }
+
+  private Optional<SubmitRecord> evaluateWithSettings(ChangeData cd) {
+    Optional<RuleSettings> settings;
+    try (Timer0.Context ctx = metrics.configLookupLatency.start()) {
+      settings = projectRuleSettings.get(cd.project());
+    } catch (NoSuchProjectException | StorageException e) {
       logger.atSevere().withCause(e).log(
           "Error when fetching config of change %s's project", cd.getId());
 
       return error("Error when fetching configuration");
     }
 
-    boolean ruleEnabled =
-        config.getBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+    return settings.isPresent() ? evaluateUnmetered(cd, settings.get()) : Optional.empty();
+  }
+
+  /**
+   * Evaluates the rule for a change whose project settings were already resolved, reporting the
+   * same metrics as {@link #evaluate(ChangeData)}.
+   */
+  Optional<SubmitRecord> evaluate(ChangeData cd, RuleSettings settings) {
+    long start = System.nanoTime();
+    try {
+      return metrics.recordOutcome(RULE_NAME, evaluateUnmetered(cd, settings));
+    } finally {
+      metrics.recordEvaluationLatency(RULE_NAME, System.nanoTime() - start);
+    }
+  }
 
-    if (!ruleEnabled) {
+  private Optional<SubmitRecord> evaluateUnmetered(ChangeData cd, RuleSettings settings) {
+    if (!settings.hasCommentRules()) {
       return Optional.empty();
     }
 
-    Integer unresolvedComments;
-    try {
-      unresolvedComments = cd.unresolvedCommentCount();
-    } catch (StorageException e) {
-      logger.atSevere().withCause(e).log(
-          "Error when counting unresolved comments for change %s", cd.getId());
+    // The groups of the comment authors may change without moving the change nor the settings.
+    boolean cacheable = settings.blockIfUnresolvedCommentsFromGroups().isEmpty();
+    SubmitRecordCache.Outcome cached =
+        cacheable ? submitRecordCache.getIfPresent(RULE_NAME, cd, settings) : null;
+    SubmitRecord.Status status;
+    if (cached != null) {
+      status = cached.status();
+    } else {
+      UnresolvedComments unresolvedComments;
+      try (Timer0.Context ctx = metrics.commentCountLatency.start()) {
+        unresolvedComments = countUnresolvedComments(cd, settings);
+      } catch (StorageException e) {
+        logger.atSevere().withCause(e).log(
+            "Error when counting unresolved comments for change %s", cd.getId());
 
-      return error("Error when counting unresolved comments");
+        return error("Error when counting unresolved comments");
+      }
+
+      if (unresolvedComments == null) {
+        // Not cached: the comments may load next time.
+        return Optional.of(record(SubmitRecord.Status.NOT_READY));
+      }
+      status =
+          unresolvedComments.block(settings)
+              ? SubmitRecord.Status.NOT_READY
+              : SubmitRecord.Status.OK;
+      if (cacheable) {
+        submitRecordCache.put(RULE_NAME, cd, settings, SubmitRecordCache.Outcome.create(status));
+      }
     }
 
+    return Optional.of(record(status));
+  }
+
+  /**
+   * Counts the unresolved comments the enabled rules look at. The total is always the cached count
+   * of Gerrit, the comments are only walked when a rule needs more than that.
+   *
+   * @return the counts, or null if the comments of the change could not be loaded.
+   */
+  @Nullable
+  private UnresolvedComments countUnresolvedComments(ChangeData cd, RuleSettings settings) {
+    Integer count = unresolvedCommentCountCache.get(cd);
+    if (count == null) {
+      return null;
+    }
+    UnresolvedComments result = UnresolvedComments.ofTotal(count);
+    if (count > 0 && settings.needsCommentScan()) {
+      commentScanner.scan(cd, settings, result);
+    }
+    return result;
+  }
+
+  private static SubmitRecord record(SubmitRecord.Status status) {
     SubmitRecord sr = new SubmitRecord();
     sr.ruleName = RULE_NAME;
     sr.requirements = Collections.singletonList(REQUIREMENT);
-    sr.status =
-        unresolvedComments == null || unresolvedComments > 0
-            ? SubmitRecord.Status.NOT_READY
-            : SubmitRecord.Status.OK;
-
-    return Optional.of(sr);
+    sr.status = status;
+    return sr;
   }
 
-  private static Optional<SubmitRecord> error(String errorMessage) {
+  static Optional<SubmitRecord> error(String errorMessage) {
     SubmitRecord sr = new SubmitRecord();
     sr.status = SubmitRecord.Status.RULE_ERROR;
     sr.errorMessage = errorMessage;
@@ -0,0 +1,242 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.common.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches file paths against glob patterns, compiled once into a trie of path segments.
+ *
+ * <p>Patterns follow a subset of the gitignore syntax:
+ *
+ * <ul>
+ *   <li>{@code *} matches any characters and {@code ?} any single character, within a segment.
+ *   <li>{@code **} matches any number of segments.
+ *   <li>A pattern without {@code /} matches at any depth, for example {@code *.proto}. Other
+ *       patterns are relative to the root of the repository.
+ *   <li>A pattern matching a directory matches all the files under it, for example {@code src/}.
+ * </ul>
+ *
+ * <p>Matching a path walks its segments once, following all the patterns at the same time: the
+ * patterns sharing a prefix share its nodes, and no regular expression is involved.
+ */
+public final class PathMatcher {
+  public static final PathMatcher EMPTY = compile(ImmutableList.of());
+
+  public static PathMatcher compile(Collection<String> patterns) {
+    Node root = new Node(null, false);
+    ImmutableList.Builder<String> compiled = ImmutableList.builder();
+    for (String pattern : patterns) {
+      if (add(root, pattern.trim())) {
+        compiled.add(pattern.trim());
+      }
+    }
+    return new PathMatcher(compiled.build(), root);
+  }
+
+  private static boolean add(Node root, String pattern) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : pattern.split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    if (segments.isEmpty()) {
+      return false;
+    }
+
+    // Trailing slashes don't count: "src/" matches at any depth, like "src".
+    int end = pattern.length();
+    while (pattern.charAt(end - 1) == '/') {
+      end--;
+    }
+    boolean anchored = pattern.lastIndexOf('/', end - 1) >= 0;
+    Node node = anchored ? root : root.anySegments();
+    for (String segment : segments) {
+      if (segment.equals("**")) {
+        node = node.anySegments();
+      } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+        node = node.glob(segment);
+      } else {
+        node = node.literals.computeIfAbsent(segment, s -> new Node(null, false));
+      }
+    }
+    node.terminal = true;
+    return true;
+  }
+
+  private final ImmutableList<String> patterns;
+  private final Node root;
+
+  private PathMatcher(ImmutableList<String> patterns, Node root) {
+    this.patterns = patterns;
+    this.root = root;
+  }
+
+  public ImmutableList<String> patterns() {
+    return patterns;
+  }
+
+  public boolean isEmpty() {
+    return patterns.isEmpty();
+  }
+
+  /** Returns true if one of the patterns matches the path or one of its directories. */
+  public boolean matches(String path) {
+    List<Node> current = new ArrayList<>();
+    addWithAnySegments(current, root);
+    List<Node> next = new ArrayList<>();
+    int start = 0;
+    while (start < path.length()) {
+      int end = path.indexOf('/', start);
+      if (end < 0) {
+        end = path.length();
+      }
+      if (end > start) {
+        String segment = path.substring(start, end);
+        for (Node node : current) {
+          if (node.repeated) {
+            addWithAnySegments(next, node);
+          }
+          Node literal = node.literals.get(segment);
+          if (literal != null) {
+            addWithAnySegments(next, literal);
+          }
+          for (Node glob : node.globs) {
+            if (globMatches(glob.glob, segment)) {
+              addWithAnySegments(next, glob);
+            }
+          }
+        }
+        if (next.isEmpty()) {
+          return false;
+        }
+        for (Node node : next) {
+          if (node.terminal) {
+            return true;
+          }
+        }
+        List<Node> swap = current;
+        current = next;
+        next = swap;
+        next.clear();
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  /** Adds {@code node} to the states, and the {@code **} following it, which can match nothing. */
+  private static void addWithAnySegments(List<Node> states, Node node) {
+    for (Node state : states) {
+      if (state == node) {
+        return;
+      }
+    }
+    states.add(node);
+    if (node.anySegments != null) {
+      addWithAnySegments(states, node.anySegments);
+    }
+  }
+
+  /** Matches a single segment against a glob with {@code *} and {@code ?}. */
+  static boolean globMatches(String glob, String segment) {
+    int g = 0;
+    int s = 0;
+    int star = -1;
+    int starMatch = 0;
+    while (s < segment.length()) {
+      if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == segment.charAt(s))) {
+        g++;
+        s++;
+      } else if (g < glob.length() && glob.charAt(g) == '*') {
+        star = g++;
+        starMatch = s;
+      } else if (star >= 0) {
+        g = star + 1;
+        s = ++starMatch;
+      } else {
+        return false;
+      }
+    }
+    while (g < glob.length() && glob.charAt(g) == '*') {
+      g++;
+    }
+    return g == glob.length();
+  }
+
+  @Override
+  public int hashCode() {
+    return patterns.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof PathMatcher && patterns.equals(((PathMatcher) o).patterns);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("patterns", patterns).toString();
+  }
+
+  /** Node of the trie, only modified while the patterns are compiled. */
+  private static final class Node {
+    /** Glob of the segment leading to this node, null for a literal segment or {@code **}. */
+    @Nullable final String glob;
+
+    /** Whether this node is a {@code **}, which stays on the same node for any segment. */
+    final boolean repeated;
+
+    final Map<String, Node> literals = new HashMap<>();
+    final List<Node> globs = new ArrayList<>();
+    @Nullable Node anySegments;
+    boolean terminal;
+
+    Node(@Nullable String glob, boolean repeated) {
+      this.glob = glob;
+      this.repeated = repeated;
+    }
+
+    Node anySegments() {
+      if (repeated) {
+        // "**/**" is the same as "**".
+        return this;
+      }
+      if (anySegments == null) {
+        anySegments = new Node(null, true);
+      }
+      return anySegments;
+    }
+
+    Node glob(String segment) {
+      for (Node node : globs) {
+        if (node.glob.equals(segment)) {
+          return node;
+        }
+      }
+      Node node = new Node(segment, false);
+      globs.add(node);
+      return node;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.extensions.events.LifecycleListener;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule settings of all the projects, loaded once for the batch programs.
+ *
+ * <p>The configuration of the projects does not change while an offline program such as the
+ * reindexer runs. All the settings are loaded when the program starts, and are then read without
+ * any lock by all its threads.
+ *
+ * <p>When the program stops, the time the rules added to it is logged.
+ */
+@Singleton
+public class PreloadedProjectRuleSettings implements ProjectRuleSettings, LifecycleListener {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final ProjectCache projectCache;
+  private final PluginConfigFactory pluginConfigFactory;
+  private final String pluginName;
+  private final RuleMetrics metrics;
+  private final Supplier<ImmutableMap<Project.NameKey, RuleSettings>> enabledProjects;
+  private volatile long preloadMillis;
+
+  @Inject
+  PreloadedProjectRuleSettings(
+      ProjectCache projectCache,
+      PluginConfigFactory pluginConfigFactory,
+      @PluginName String pluginName,
+      RuleMetrics metrics) {
+    this.projectCache = projectCache;
+    this.pluginConfigFactory = pluginConfigFactory;
+    this.pluginName = pluginName;
+    this.metrics = metrics;
+    this.enabledProjects = Suppliers.memoize(this::load);
+  }
+
+  @Override
+  public void start() {
+    enabledProjects.get();
+  }
+
+  @Override
+  public void stop() {
+    logger.atInfo().log(
+        "Simple submit rules: loading the settings of %d enabled projects took %d ms, "
+            + "%d evaluations took %d ms",
+        enabledProjects.get().size(),
+        preloadMillis,
+        metrics.evaluationCount(),
+        TimeUnit.NANOSECONDS.toMillis(metrics.evaluationNanos()));
+  }
+
+  @Override
+  public Optional<RuleSettings> get(Project.NameKey project) {
+    // Projects that do not exist enable no rule either, there is no need to tell them apart.
+    return Optional.ofNullable(enabledProjects.get().get(project));
+  }
+
+  private ImmutableMap<Project.NameKey, RuleSettings> load() {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    ImmutableMap.Builder<Project.NameKey, RuleSettings> enabled = ImmutableMap.builder();
+    for (Project.NameKey project : projectCache.all()) {
+      Optional<ProjectState> projectState = projectCache.get(project);
+      if (!projectState.isPresent()) {
+        continue;
+      }
+      RuleSettings settings =
+          RuleSettingsCache.parse(projectState.get(), pluginConfigFactory, pluginName);
+      if (settings.isEnabled()) {
+        enabled.put(project, settings);
+      }
+    }
+    preloadMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    return enabled.build();
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
+import com.google.gerrit.extensions.events.GitReferenceUpdatedListener;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/** Evicts cached rule settings when the {@code refs/meta/config} of a project is updated. */
+@Singleton
+public class ProjectConfigUpdatedListener implements GitReferenceUpdatedListener {
+  private final RuleSettingsCache ruleSettingsCache;
+
+  @Inject
+  ProjectConfigUpdatedListener(RuleSettingsCache ruleSettingsCache) {
+    this.ruleSettingsCache = ruleSettingsCache;
+  }
+
+  @Override
+  public void onGitReferenceUpdated(Event event) {
+    if (!RefNames.REFS_CONFIG.equals(event.getRefName())) {
+      return;
+    }
+    ruleSettingsCache.evict(Project.nameKey(event.getProjectName()));
+  }
+}
@@ -0,0 +1,30 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import java.util.Optional;
+
+/** Resolves the {@link RuleSettings} of a project for the rules. */
+public interface ProjectRuleSettings {
+  /**
+   * Returns the rule settings of the project.
+   *
+   * @return the settings, or empty if the project does not enable any rule.
+   * @throws NoSuchProjectException if the project does not exist.
+   */
+  Optional<RuleSettings> get(Project.NameKey project) throws NoSuchProjectException;
+}
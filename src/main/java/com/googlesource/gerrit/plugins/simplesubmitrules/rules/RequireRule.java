@@ -0,0 +1,154 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
+import com.google.gerrit.entities.LegacySubmitRequirement;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.metrics.Timer0;
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.gerrit.server.rules.SubmitRule;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Declarative rule: block submission until the change meets the {@code require} expressions of
+ * its project.
+ *
+ * <p>The expressions are compiled with the rest of the rule settings, once per revision of
+ * {@code refs/meta/config}: evaluating them on a change only walks the compiled trees. Like {@link
+ * NoUnresolvedCommentsRule}, the rule reports its evaluations in {@link RuleMetrics}, and keeps its
+ * outcome in {@link SubmitRecordCache} unless it depends on group membership.
+ */
+@Singleton
+public class RequireRule implements SubmitRule {
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+  public static final String RULE_NAME = "Simple-Require";
+  private static final String REQUIREMENT_TYPE = "simple_submit_require";
+
+  private final ProjectRuleSettings projectRuleSettings;
+  private final UnresolvedCommentCountCache unresolvedCommentCountCache;
+  private final SubmitRecordCache submitRecordCache;
+  private final IdentifiedUser.GenericFactory userFactory;
+  private final RuleMetrics metrics;
+
+  @Inject
+  RequireRule(
+      ProjectRuleSettings projectRuleSettings,
+      UnresolvedCommentCountCache unresolvedCommentCountCache,
+      SubmitRecordCache submitRecordCache,
+      IdentifiedUser.GenericFactory userFactory,
+      RuleMetrics metrics) {
+    this.projectRuleSettings = projectRuleSettings;
+    this.unresolvedCommentCountCache = unresolvedCommentCountCache;
+    this.submitRecordCache = submitRecordCache;
+    this.userFactory = userFactory;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Optional<SubmitRecord> evaluate(ChangeData cd) {
+    long start = System.nanoTime();
+    try {
+      return metrics.recordOutcome(RULE_NAME, evaluateWithSettings(cd));
+    } finally {
+      metrics.recordEvaluationLatency(RULE_NAME, System.nanoTime() - start);
+    }
+  }
+
+  private Optional<SubmitRecord> evaluateWithSettings(ChangeData cd) {
+    Optional<RuleSettings> settings;
+    try (Timer0.Context ctx = metrics.configLookupLatency.start()) {
+      settings = projectRuleSettings.get(cd.project());
+    } catch (NoSuchProjectException | StorageException e) {
+      logger.atSevere().withCause(e).log(
+          "Error when fetching config of change %s's project", cd.getId());
+
+      return error("Error when fetching configuration");
+    }
+
+    return settings.isPresent() ? evaluate(cd, settings.get()) : Optional.empty();
+  }
+
+  /** Evaluates the rule for a change whose project settings were already resolved. */
+  Optional<SubmitRecord> evaluate(ChangeData cd, RuleSettings settings) {
+    if (settings.requirements().isEmpty()) {
+      return Optional.empty();
+    }
+
+    // The groups of the owner may change without moving the change nor the settings.
+    boolean cacheable =
+        settings.requirements().stream().noneMatch(Requirement::dependsOnGroups);
+    SubmitRecordCache.Outcome outcome =
+        cacheable ? submitRecordCache.getIfPresent(RULE_NAME, cd, settings) : null;
+    if (outcome == null) {
+      ConditionContext context =
+          new ConditionContext(cd, unresolvedCommentCountCache, userFactory);
+      ImmutableList.Builder<String> unmet = ImmutableList.builder();
+      for (Requirement requirement : settings.requirements()) {
+        if (requirement.error() != null) {
+          return error(requirement.error());
+        }
+        try {
+          // Requirements depending on data that could not be loaded are unmet, and not cached.
+          if (!requirement.test(context)) {
+            unmet.add(requirement.expression());
+          }
+        } catch (StorageException e) {
+          logger.atSevere().withCause(e).log(
+              "Error when evaluating \"%s\" for change %s", requirement, cd.getId());
+          return error("Error when evaluating \"" + requirement + "\"");
+        }
+      }
+      ImmutableList<String> unmetRequirements = unmet.build();
+      outcome =
+          SubmitRecordCache.Outcome.create(
+              unmetRequirements.isEmpty() ? SubmitRecord.Status.OK : SubmitRecord.Status.NOT_READY,
+              unmetRequirements);
+      if (cacheable && context.isComplete()) {
+        submitRecordCache.put(RULE_NAME, cd, settings, outcome);
+      }
+    }
+
+    SubmitRecord sr = new SubmitRecord();
+    sr.ruleName = RULE_NAME;
+    sr.status = outcome.status();
+    sr.requirements =
+        outcome.unmetRequirements().stream()
+            .map(
+                expression ->
+                    LegacySubmitRequirement.builder()
+                        .setType(REQUIREMENT_TYPE)
+                        .setFallbackText("Requires: " + expression)
+                        .build())
+            .collect(toList());
+    return Optional.of(sr);
+  }
+
+  private static Optional<SubmitRecord> error(String errorMessage) {
+    SubmitRecord sr = new SubmitRecord();
+    sr.status = SubmitRecord.Status.RULE_ERROR;
+    sr.errorMessage = errorMessage;
+    sr.ruleName = RULE_NAME;
+    return Optional.of(sr);
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.common.Nullable;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+
+/**
+ * A {@code require} expression of a project, compiled once per revision of its settings.
+ *
+ * <p>Invalid expressions are kept with their error, so that the changes of the project report it
+ * instead of silently ignoring the requirement.
+ */
+public final class Requirement {
+  static Requirement compile(String expression) {
+    try {
+      return new Requirement(expression, RequirementParser.parse(expression), null);
+    } catch (ConfigInvalidException e) {
+      return new Requirement(expression, null, e.getMessage());
+    }
+  }
+
+  private final String expression;
+  @Nullable private final ChangeCondition condition;
+  @Nullable private final String error;
+
+  private Requirement(
+      String expression, @Nullable ChangeCondition condition, @Nullable String error) {
+    this.expression = expression;
+    this.condition = condition;
+    this.error = error;
+  }
+
+  public String expression() {
+    return expression;
+  }
+
+  /** Returns why the expression is invalid, null if it is valid. */
+  @Nullable
+  public String error() {
+    return error;
+  }
+
+  /** Returns true if the outcome depends on group membership, which changes outside the change. */
+  boolean dependsOnGroups() {
+    return condition != null && condition.dependsOnGroups();
+  }
+
+  /**
+   * Returns true if the change meets the requirement, false if it doesn't or if that depends on
+   * data that could not be loaded; must only be called on valid ones.
+   */
+  boolean test(ConditionContext context) {
+    return condition.test(context) == ChangeCondition.Result.MET;
+  }
+
+  @Override
+  public int hashCode() {
+    return expression.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Requirement && expression.equals(((Requirement) o).expression);
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
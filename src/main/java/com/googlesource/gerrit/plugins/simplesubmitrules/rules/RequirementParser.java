@@ -0,0 +1,225 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.entities.AccountGroup;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.ChangeCondition.Comparison;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+
+/**
+ * Compiles {@code require} expressions into {@link ChangeCondition} trees.
+ *
+ * <p>Expressions combine conditions with {@code AND}, {@code OR}, {@code NOT} and parentheses,
+ * adjacent conditions being implicitly combined with {@code AND}:
+ *
+ * <ul>
+ *   <li>{@code label:Code-Review>=+1}: a vote on the label compares to the value.
+ *   <li>{@code unresolved=0}: the number of unresolved comments compares to the value.
+ *   <li>{@code size<100}: the number of inserted and deleted lines compares to the value.
+ *   <li>{@code path:docs/**}: the change modifies a file matching the glob.
+ *   <li>{@code ownerin:<group UUID>}: the owner of the change is a member of the group.
+ * </ul>
+ */
+final class RequirementParser {
+  private static final String LABEL = "label:";
+  private static final String PATH = "path:";
+  private static final String OWNER_IN = "ownerin:";
+  private static final String UNRESOLVED = "unresolved";
+  private static final String SIZE = "size";
+
+  static ChangeCondition parse(String expression) throws ConfigInvalidException {
+    RequirementParser parser = new RequirementParser(expression);
+    ChangeCondition condition = parser.parseOr();
+    if (parser.hasNext()) {
+      throw parser.invalid("unexpected '" + parser.peek() + "'");
+    }
+    return condition;
+  }
+
+  private final String expression;
+  private final List<String> tokens;
+  private int pos;
+
+  private RequirementParser(String expression) throws ConfigInvalidException {
+    this.expression = expression;
+    this.tokens = tokenize(expression);
+    if (tokens.isEmpty()) {
+      throw invalid("empty expression");
+    }
+  }
+
+  private ChangeCondition parseOr() throws ConfigInvalidException {
+    List<ChangeCondition> children = new ArrayList<>();
+    children.add(parseAnd());
+    while (nextIs("OR")) {
+      pos++;
+      children.add(parseAnd());
+    }
+    return ChangeCondition.or(children);
+  }
+
+  private ChangeCondition parseAnd() throws ConfigInvalidException {
+    List<ChangeCondition> children = new ArrayList<>();
+    children.add(parseNot());
+    while (hasNext() && !nextIs("OR") && !peek().equals(")")) {
+      if (nextIs("AND")) {
+        pos++;
+      }
+      children.add(parseNot());
+    }
+    return ChangeCondition.and(children);
+  }
+
+  private ChangeCondition parseNot() throws ConfigInvalidException {
+    if (nextIs("NOT")) {
+      pos++;
+      return ChangeCondition.not(parseNot());
+    }
+    return parsePrimary();
+  }
+
+  private ChangeCondition parsePrimary() throws ConfigInvalidException {
+    if (!hasNext()) {
+      throw invalid("unexpected end of expression");
+    }
+    String token = tokens.get(pos++);
+    if (token.equals("(")) {
+      ChangeCondition condition = parseOr();
+      if (!hasNext() || !peek().equals(")")) {
+        throw invalid("missing ')'");
+      }
+      pos++;
+      return condition;
+    }
+    if (token.equals(")")) {
+      throw invalid("unexpected ')'");
+    }
+    return parseCondition(token);
+  }
+
+  private ChangeCondition parseCondition(String token) throws ConfigInvalidException {
+    String lower = token.toLowerCase(Locale.US);
+    if (lower.startsWith(LABEL)) {
+      String rest = token.substring(LABEL.length());
+      int op = indexOfComparison(rest);
+      if (op <= 0) {
+        throw invalid("missing label name or comparison in '" + token + "'");
+      }
+      Comparison comparison = comparison(rest.substring(op), token);
+      return ChangeCondition.label(
+          rest.substring(0, op),
+          comparison,
+          number(rest.substring(op + comparison.operator.length()), token));
+    }
+    if (lower.startsWith(PATH)) {
+      String glob = token.substring(PATH.length());
+      if (glob.isEmpty()) {
+        throw invalid("missing glob in '" + token + "'");
+      }
+      return ChangeCondition.path(PathMatcher.compile(ImmutableList.of(glob)));
+    }
+    if (lower.startsWith(OWNER_IN)) {
+      String group = token.substring(OWNER_IN.length());
+      if (group.isEmpty()) {
+        throw invalid("missing group in '" + token + "'");
+      }
+      return ChangeCondition.ownerIn(AccountGroup.uuid(group));
+    }
+    if (lower.startsWith(UNRESOLVED) && indexOfComparison(token) == UNRESOLVED.length()) {
+      Comparison comparison = comparison(token.substring(UNRESOLVED.length()), token);
+      return ChangeCondition.unresolvedComments(
+          comparison,
+          number(token.substring(UNRESOLVED.length() + comparison.operator.length()), token));
+    }
+    if (lower.startsWith(SIZE) && indexOfComparison(token) == SIZE.length()) {
+      Comparison comparison = comparison(token.substring(SIZE.length()), token);
+      return ChangeCondition.size(
+          comparison,
+          number(token.substring(SIZE.length() + comparison.operator.length()), token));
+    }
+    throw invalid("unknown condition '" + token + "'");
+  }
+
+  private static int indexOfComparison(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '<' || c == '>' || c == '=') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Comparison comparison(String s, String token) throws ConfigInvalidException {
+    for (Comparison comparison : Comparison.values()) {
+      if (s.startsWith(comparison.operator)) {
+        return comparison;
+      }
+    }
+    throw invalid("missing comparison in '" + token + "'");
+  }
+
+  private int number(String s, String token) throws ConfigInvalidException {
+    try {
+      return Integer.parseInt(s.startsWith("+") ? s.substring(1) : s);
+    } catch (NumberFormatException e) {
+      throw invalid("invalid number in '" + token + "'");
+    }
+  }
+
+  private boolean hasNext() {
+    return pos < tokens.size();
+  }
+
+  private String peek() {
+    return tokens.get(pos);
+  }
+
+  private boolean nextIs(String keyword) {
+    return hasNext() && peek().equalsIgnoreCase(keyword);
+  }
+
+  private ConfigInvalidException invalid(String reason) {
+    return new ConfigInvalidException(
+        String.format("Invalid requirement \"%s\": %s", expression, reason));
+  }
+
+  private static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>();
+    StringBuilder token = new StringBuilder();
+    for (int i = 0; i < expression.length(); i++) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c) || c == '(' || c == ')') {
+        if (token.length() > 0) {
+          tokens.add(token.toString());
+          token.setLength(0);
+        }
+        if (!Character.isWhitespace(c)) {
+          tokens.add(String.valueOf(c));
+        }
+      } else {
+        token.append(c);
+      }
+    }
+    if (token.length() > 0) {
+      tokens.add(token.toString());
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,158 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.metrics.Counter1;
+import com.google.gerrit.metrics.Counter2;
+import com.google.gerrit.metrics.Description;
+import com.google.gerrit.metrics.Description.Units;
+import com.google.gerrit.metrics.Field;
+import com.google.gerrit.metrics.MetricMaker;
+import com.google.gerrit.metrics.Timer0;
+import com.google.gerrit.metrics.Timer1;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the submit rules evaluations.
+ *
+ * <p>The evaluations of all the rules are reported by the metrics without a {@code rule} field,
+ * and again per rule by separate metrics, so that the former keep their shape.
+ */
+@Singleton
+public class RuleMetrics {
+  /** Outcome of an evaluation, as reported by the {@code evaluations} counters. */
+  enum Outcome {
+    OK,
+    NOT_READY,
+    RULE_ERROR,
+    DISABLED
+  }
+
+  final Timer0 configLookupLatency;
+  final Timer0 commentCountLatency;
+  private final Timer0 evaluationLatency;
+  private final Timer1<String> evaluationLatencyPerRule;
+  private final Counter1<Outcome> evaluations;
+  private final Counter2<String, Outcome> evaluationsPerRule;
+  private final LongAdder evaluationCount = new LongAdder();
+  private final LongAdder evaluationNanos = new LongAdder();
+
+  @Inject
+  RuleMetrics(MetricMaker metricMaker) {
+    configLookupLatency =
+        metricMaker.newTimer(
+            "rules/config_lookup_latency",
+            new Description("Latency of resolving the rule settings of the project of a change")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS));
+    commentCountLatency =
+        metricMaker.newTimer(
+            "rules/comment_count_latency",
+            new Description("Latency of counting the unresolved comments of a change")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS));
+    evaluationLatency =
+        metricMaker.newTimer(
+            "rules/evaluation_latency",
+            new Description("Total latency of evaluating the submit rules of a change")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS));
+    evaluationLatencyPerRule =
+        metricMaker.newTimer(
+            "rules/evaluation_latency_per_rule",
+            new Description("Total latency of evaluating a submit rule on a change, by rule")
+                .setCumulative()
+                .setUnit(Units.MILLISECONDS),
+            ruleField());
+    evaluations =
+        metricMaker.newCounter(
+            "rules/evaluations",
+            new Description("Submit rules evaluations, by outcome")
+                .setRate()
+                .setUnit("evaluations"),
+            outcomeField());
+    evaluationsPerRule =
+        metricMaker.newCounter(
+            "rules/evaluations_per_rule",
+            new Description("Submit rules evaluations, by rule and outcome")
+                .setRate()
+                .setUnit("evaluations"),
+            ruleField(),
+            outcomeField());
+  }
+
+  private static Field<Outcome> outcomeField() {
+    return Field.ofEnum(Outcome.class, "outcome", (metadataBuilder, outcome) -> {})
+        .description("Outcome of the evaluation")
+        .build();
+  }
+
+  /** The rules of the plugin, a bounded number of values unlike projects. */
+  private static Field<String> ruleField() {
+    return Field.ofString("rule", (metadataBuilder, rule) -> {})
+        .description("Name of the evaluated rule")
+        .build();
+  }
+
+  void recordEvaluationLatency(String rule, long nanos) {
+    evaluationLatency.record(nanos, TimeUnit.NANOSECONDS);
+    evaluationLatencyPerRule.record(rule, nanos, TimeUnit.NANOSECONDS);
+    evaluationCount.increment();
+    evaluationNanos.add(nanos);
+  }
+
+  /** Number of evaluations since the plugin started, also kept when metrics are disabled. */
+  long evaluationCount() {
+    return evaluationCount.sum();
+  }
+
+  /** Total time spent in evaluations since the plugin started. */
+  long evaluationNanos() {
+    return evaluationNanos.sum();
+  }
+
+  /** Counts the outcome of an evaluation, and returns it unchanged. */
+  Optional<SubmitRecord> recordOutcome(String rule, Optional<SubmitRecord> result) {
+    if (!result.isPresent()) {
+      increment(rule, Outcome.DISABLED);
+      return result;
+    }
+    switch (result.get().status) {
+      case OK:
+        increment(rule, Outcome.OK);
+        break;
+      case NOT_READY:
+        increment(rule, Outcome.NOT_READY);
+        break;
+      case RULE_ERROR:
+        increment(rule, Outcome.RULE_ERROR);
+        break;
+      case CLOSED:
+      case FORCED:
+        break;
+    }
+    return result;
+  }
+
+  private void increment(String rule, Outcome outcome) {
+    evaluations.increment(outcome);
+    evaluationsPerRule.increment(rule, outcome);
+  }
+}
@@ -0,0 +1,100 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.AccountGroup;
+import com.google.gerrit.server.config.PluginConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import java.util.Arrays;
+import org.eclipse.jgit.lib.ObjectId;
+
+/** Parsed rule settings of a single project, at a given {@code refs/meta/config} revision. */
+@AutoValue
+public abstract class RuleSettings {
+  /** Value of {@link #maxUnresolvedComments()} when no maximum is set. */
+  public static final int NO_MAX = -1;
+
+  static RuleSettings create(@Nullable ObjectId revision, PluginConfig config) {
+    return new AutoValue_RuleSettings(
+        revision,
+        config.getBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false),
+        Math.max(
+            config.getInt(SimpleSubmitRulesConfig.KEY_MAX_UNRESOLVED_COMMENTS, NO_MAX), NO_MAX),
+        config.getBoolean(
+            SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_LATEST_PATCH_SET, false),
+        Arrays.stream(
+                config.getStringList(
+                    SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_FROM_GROUP))
+            .map(AccountGroup::uuid)
+            .collect(toImmutableSet()),
+        PathMatcher.compile(
+            Arrays.asList(
+                config.getStringList(
+                    SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH))),
+        Arrays.stream(config.getStringList(SimpleSubmitRulesConfig.KEY_REQUIRE))
+            .map(Requirement::compile)
+            .collect(toImmutableList()));
+  }
+
+  /** Revision of {@code refs/meta/config} the settings were read from, null if there is none. */
+  @Nullable
+  public abstract ObjectId revision();
+
+  public abstract boolean blockIfUnresolvedComments();
+
+  /** Number of unresolved comments tolerated, {@link #NO_MAX} if there is no maximum. */
+  public abstract int maxUnresolvedComments();
+
+  public abstract boolean blockIfUnresolvedCommentsOnLatestPatchSet();
+
+  /** Groups whose members can't leave unresolved comments on a submittable change. */
+  public abstract ImmutableSet<AccountGroup.UUID> blockIfUnresolvedCommentsFromGroups();
+
+  /**
+   * Paths on which there can't be unresolved comments on a submittable change, compiled once per
+   * revision of the settings.
+   */
+  public abstract PathMatcher blockIfUnresolvedCommentsOnPaths();
+
+  /** Requirements all the changes must meet, compiled once per revision of the settings. */
+  public abstract ImmutableList<Requirement> requirements();
+
+  /**
+   * Returns true if a rule needs to look at the unresolved comments one by one, rather than just
+   * at their number.
+   */
+  public boolean needsCommentScan() {
+    return blockIfUnresolvedCommentsOnLatestPatchSet()
+        || !blockIfUnresolvedCommentsFromGroups().isEmpty()
+        || !blockIfUnresolvedCommentsOnPaths().isEmpty();
+  }
+
+  /** Returns true if the project enables at least one rule on unresolved comments. */
+  public boolean hasCommentRules() {
+    return blockIfUnresolvedComments() || maxUnresolvedComments() != NO_MAX || needsCommentScan();
+  }
+
+  /** Returns true if the project enables at least one rule. */
+  public boolean isEnabled() {
+    return hasCommentRules() || !requirements().isEmpty();
+  }
+}
@@ -0,0 +1,129 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.gerrit.entities.Project;
+import com.google.gerrit.exceptions.StorageException;
+import com.google.gerrit.extensions.annotations.PluginName;
+import com.google.gerrit.server.cache.CacheModule;
+import com.google.gerrit.server.config.PluginConfigFactory;
+import com.google.gerrit.server.project.NoSuchProjectException;
+import com.google.gerrit.server.project.ProjectCache;
+import com.google.gerrit.server.project.ProjectState;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Cache of the parsed {@link RuleSettings} of each project.
+ *
+ * <p>Entries are checked against the current {@code refs/meta/config} revision of the project on
+ * every lookup, and are evicted when that ref is updated.
+ */
+@Singleton
+public class RuleSettingsCache {
+  static final String CACHE_NAME = "rule_settings";
+
+  public static Module module() {
+    return new CacheModule() {
+      @Override
+      protected void configure() {
+        cache(CACHE_NAME, Project.NameKey.class, RuleSettings.class).loader(Loader.class);
+        bind(RuleSettingsCache.class);
+      }
+    };
+  }
+
+  private final LoadingCache<Project.NameKey, RuleSettings> cache;
+  private final ProjectCache projectCache;
+  private final PluginConfigFactory pluginConfigFactory;
+  private final String pluginName;
+
+  @Inject
+  RuleSettingsCache(
+      @Named(CACHE_NAME) LoadingCache<Project.NameKey, RuleSettings> cache,
+      ProjectCache projectCache,
+      PluginConfigFactory pluginConfigFactory,
+      @PluginName String pluginName) {
+    this.cache = cache;
+    this.projectCache = projectCache;
+    this.pluginConfigFactory = pluginConfigFactory;
+    this.pluginName = pluginName;
+  }
+
+  public RuleSettings get(Project.NameKey project) throws NoSuchProjectException {
+    ProjectState projectState =
+        projectCache.get(project).orElseThrow(() -> new NoSuchProjectException(project));
+    ObjectId revision = projectState.getConfig().getRevision().orElse(null);
+
+    RuleSettings settings;
+    try {
+      settings = cache.get(project);
+    } catch (ExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), NoSuchProjectException.class);
+      throw new StorageException("Cannot load rule settings of " + project, e);
+    }
+
+    if (!Objects.equals(settings.revision(), revision)) {
+      // The cached entry predates the last config update we know of, and its eviction did not
+      // reach us yet.
+      settings = parse(projectState, pluginConfigFactory, pluginName);
+      cache.put(project, settings);
+    }
+    return settings;
+  }
+
+  public void evict(Project.NameKey project) {
+    cache.invalidate(project);
+  }
+
+  static RuleSettings parse(
+      ProjectState projectState, PluginConfigFactory pluginConfigFactory, String pluginName) {
+    return RuleSettings.create(
+        projectState.getConfig().getRevision().orElse(null),
+        pluginConfigFactory.getFromProjectConfig(projectState, pluginName));
+  }
+
+  @Singleton
+  static class Loader extends CacheLoader<Project.NameKey, RuleSettings> {
+    private final ProjectCache projectCache;
+    private final PluginConfigFactory pluginConfigFactory;
+    private final String pluginName;
+
+    @Inject
+    Loader(
+        ProjectCache projectCache,
+        PluginConfigFactory pluginConfigFactory,
+        @PluginName String pluginName) {
+      this.projectCache = projectCache;
+      this.pluginConfigFactory = pluginConfigFactory;
+      this.pluginName = pluginName;
+    }
+
+    @Override
+    public RuleSettings load(Project.NameKey project) throws NoSuchProjectException {
+      ProjectState projectState =
+          projectCache.get(project).orElseThrow(() -> new NoSuchProjectException(project));
+      return parse(projectState, pluginConfigFactory, pluginName);
+    }
+  }
+}
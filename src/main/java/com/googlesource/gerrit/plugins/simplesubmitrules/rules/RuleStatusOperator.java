@@ -0,0 +1,101 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.index.query.Predicate;
+import com.google.gerrit.index.query.QueryParseException;
+import com.google.gerrit.server.index.change.ChangeField;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.gerrit.server.query.change.ChangeOperatorPredicate;
+import com.google.gerrit.server.query.change.ChangeQueryBuilder;
+import com.google.inject.Singleton;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Query operator selecting changes by the outcome of {@link NoUnresolvedCommentsRule}, as in
+ * {@code status_simple-submit-rules:blocked}.
+ *
+ * <p>The outcome is read from the submit records stored in the change index when the change was
+ * indexed, so matching a change doesn't load it from NoteDb nor evaluate the rule again. Changes
+ * whose stored records were not loaded with them don't match.
+ */
+@Singleton
+public class RuleStatusOperator implements ChangeQueryBuilder.ChangeOperatorFactory {
+  public static final String OPERATOR = "status";
+
+  /**
+   * Cost of matching a change. The predicate can't use the index and filters the changes the other
+   * predicates selected: it must be matched after the cheap ones.
+   */
+  private static final int COST = 5;
+
+  enum RuleStatus {
+    /** The rule prevents the submission of the change. */
+    BLOCKED,
+    /** The rule allows the submission of the change. */
+    OK,
+    /** The project of the change doesn't enable the rule. */
+    DISABLED;
+
+    /** Returns the status of the rule, or null if the stored records were not loaded. */
+    @Nullable
+    static RuleStatus of(ChangeData cd) {
+      // Never calls submitRecords(), which evaluates all the submit rules on a cache miss.
+      List<SubmitRecord> records = cd.getSubmitRecords(ChangeField.SUBMIT_RULE_OPTIONS_LENIENT);
+      if (records == null) {
+        return null;
+      }
+      for (SubmitRecord record : records) {
+        if (NoUnresolvedCommentsRule.RULE_NAME.equals(record.ruleName)) {
+          return record.status == SubmitRecord.Status.OK ? OK : BLOCKED;
+        }
+      }
+      return DISABLED;
+    }
+  }
+
+  @Override
+  public Predicate<ChangeData> create(ChangeQueryBuilder builder, String value)
+      throws QueryParseException {
+    try {
+      return new RuleStatusPredicate(RuleStatus.valueOf(value.toUpperCase(Locale.US)));
+    } catch (IllegalArgumentException e) {
+      throw new QueryParseException(
+          "Invalid value " + value + " for " + OPERATOR + ", expected blocked, ok or disabled");
+    }
+  }
+
+  private static class RuleStatusPredicate extends ChangeOperatorPredicate {
+    private final RuleStatus status;
+
+    RuleStatusPredicate(RuleStatus status) {
+      super(OPERATOR, status.name().toLowerCase(Locale.US));
+      this.status = status;
+    }
+
+    @Override
+    public boolean match(ChangeData cd) {
+      return RuleStatus.of(cd) == status;
+    }
+
+    @Override
+    public int getCost() {
+      return COST;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.server.cache.CacheModule;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Cache of the outcome of the rules of the plugin on a change.
+ *
+ * <p>Entries are keyed by the rule, the revision of the change's NoteDb meta ref and the revision
+ * of the rule settings they were computed with: an update to the change or to the settings changes
+ * the key and never hits an outdated entry, so entries never need to be evicted explicitly. Like
+ * {@link UnresolvedCommentCountCache}, the meta revision is the one stored in the index, so that
+ * building the key doesn't load the notes of the change.
+ *
+ * <p>Only the status of the record and its unmet requirements are kept, {@link SubmitRecord} being
+ * mutable: each lookup builds a new record from them.
+ *
+ * <p>Outcomes that depend on group membership, which changes without moving any of these
+ * revisions, must not be cached: rules check it before calling this class.
+ */
+@Singleton
+public class SubmitRecordCache {
+  static final String CACHE_NAME = "submit_records";
+
+  public static Module module() {
+    return new CacheModule() {
+      @Override
+      protected void configure() {
+        cache(CACHE_NAME, Key.class, Outcome.class).maximumWeight(65536);
+        bind(SubmitRecordCache.class);
+      }
+    };
+  }
+
+  private final Cache<Key, Outcome> cache;
+
+  @Inject
+  SubmitRecordCache(@Named(CACHE_NAME) Cache<Key, Outcome> cache) {
+    this.cache = cache;
+  }
+
+  /** Returns the outcome the rule had on the current state of the change, null if unknown. */
+  @Nullable
+  Outcome getIfPresent(String ruleName, ChangeData cd, RuleSettings settings) {
+    return cache.getIfPresent(Key.create(ruleName, cd, settings));
+  }
+
+  void put(String ruleName, ChangeData cd, RuleSettings settings, Outcome outcome) {
+    cache.put(Key.create(ruleName, cd, settings), outcome);
+  }
+
+  @AutoValue
+  abstract static class Outcome {
+    static Outcome create(SubmitRecord.Status status) {
+      return create(status, ImmutableList.of());
+    }
+
+    static Outcome create(SubmitRecord.Status status, ImmutableList<String> unmetRequirements) {
+      return new AutoValue_SubmitRecordCache_Outcome(status, unmetRequirements);
+    }
+
+    abstract SubmitRecord.Status status();
+
+    /** Expressions of the requirements the change doesn't meet, for {@link RequireRule}. */
+    abstract ImmutableList<String> unmetRequirements();
+  }
+
+  @AutoValue
+  abstract static class Key {
+    static Key create(String ruleName, ChangeData cd, RuleSettings settings) {
+      return new AutoValue_SubmitRecordCache_Key(
+          ruleName,
+          cd.getId(),
+          UnresolvedCommentCountCache.metaRevision(cd).copy(),
+          settings.revision() != null ? settings.revision().copy() : null);
+    }
+
+    abstract String ruleName();
+
+    abstract Change.Id changeId();
+
+    abstract ObjectId metaId();
+
+    @Nullable
+    abstract ObjectId settingsRevision();
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.gerrit.common.Nullable;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.server.cache.CacheModule;
+import com.google.gerrit.server.cache.serialize.CacheSerializer;
+import com.google.gerrit.server.cache.serialize.IntegerCacheSerializer;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.nio.ByteBuffer;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+/**
+ * Persistent cache of the number of unresolved comments of a change.
+ *
+ * <p>Entries are keyed by the revision of the change's NoteDb meta ref: any update to the change,
+ * including new comments, moves the ref and therefore never hits an outdated entry.
+ *
+ * <p>The revision is read from the change itself, which the change index stores: looking the cache
+ * up for a change returned by a query doesn't load its notes from NoteDb.
+ */
+@Singleton
+public class UnresolvedCommentCountCache {
+  static final String CACHE_NAME = "unresolved_comment_counts";
+
+  public static Module module() {
+    return new CacheModule() {
+      @Override
+      protected void configure() {
+        persist(CACHE_NAME, Key.class, Integer.class)
+            .version(1)
+            .diskLimit(64 << 20)
+            .keySerializer(Key.Serializer.INSTANCE)
+            .valueSerializer(IntegerCacheSerializer.INSTANCE);
+        bind(UnresolvedCommentCountCache.class);
+      }
+    };
+  }
+
+  private final Cache<Key, Integer> cache;
+
+  @Inject
+  UnresolvedCommentCountCache(@Named(CACHE_NAME) Cache<Key, Integer> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Returns the number of unresolved comments of the change, only counting them when the current
+   * state of the change was never counted before.
+   *
+   * @return the count, or null if the comments of the change could not be loaded.
+   */
+  @Nullable
+  public Integer get(ChangeData cd) {
+    Key key = Key.create(cd.getId(), metaRevision(cd));
+    Integer count = cache.getIfPresent(key);
+    if (count == null) {
+      count = cd.unresolvedCommentCount();
+      if (count != null) {
+        cache.put(key, count);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the revision of the NoteDb meta ref of the change, only loading the notes of the change
+   * when the change doesn't know it.
+   */
+  static ObjectId metaRevision(ChangeData cd) {
+    ObjectId metaRevision = cd.change().getMetaRevision();
+    return metaRevision != null ? metaRevision : cd.notes().getRevision();
+  }
+
+  @AutoValue
+  abstract static class Key {
+    static Key create(Change.Id changeId, ObjectId metaId) {
+      return new AutoValue_UnresolvedCommentCountCache_Key(changeId, metaId.copy());
+    }
+
+    abstract Change.Id changeId();
+
+    abstract ObjectId metaId();
+
+    enum Serializer implements CacheSerializer<Key> {
+      INSTANCE;
+
+      @Override
+      public byte[] serialize(Key key) {
+        byte[] out = new byte[Integer.BYTES + Constants.OBJECT_ID_LENGTH];
+        ByteBuffer.wrap(out).putInt(key.changeId().get());
+        key.metaId().copyRawTo(out, Integer.BYTES);
+        return out;
+      }
+
+      @Override
+      public Key deserialize(byte[] in) {
+        return Key.create(
+            Change.id(ByteBuffer.wrap(in).getInt()), ObjectId.fromRaw(in, Integer.BYTES));
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+/**
+ * Numbers of unresolved comments of a change, as seen by each comment rule.
+ *
+ * <p>{@link #total} is the count of unresolved threads of Gerrit. The scoped counts are filled by
+ * {@link CommentScanner} while it walks the comments; the counts of the rules a project doesn't
+ * enable stay at zero.
+ */
+final class UnresolvedComments {
+  int total;
+  int onLatestPatchSet;
+  int fromGroups;
+  int onPaths;
+
+  static UnresolvedComments ofTotal(int total) {
+    UnresolvedComments comments = new UnresolvedComments();
+    comments.total = total;
+    return comments;
+  }
+
+  /** Returns true if one of the rules enabled by {@code settings} blocks the submission. */
+  boolean block(RuleSettings settings) {
+    if (settings.blockIfUnresolvedComments() && total > 0) {
+      return true;
+    }
+    if (settings.maxUnresolvedComments() != RuleSettings.NO_MAX
+        && total > settings.maxUnresolvedComments()) {
+      return true;
+    }
+    return onLatestPatchSet > 0 || fromGroups > 0 || onPaths > 0;
+  }
+}
@@ -125,7 +125,19 @@ public class PluginIT extends LightweightPluginDaemonTest {
 
     String currentConfig = adminRestSession.get(endpointUrl(project)).getEntityContent();
     SubmitConfig parsedConfig = newGson().fromJson(currentConfig, SubmitConfig.class);
-    assertThat(parsedConfig.comments).isEqualTo(new CommentsRules(true));
+    assertThat(parsedConfig.comments).isEqualTo(new CommentsRules(true, ImmutableList.of()));
+  }
+
+  @Test
+  public void commentPathsGetPersisted() throws Exception {
+    SubmitConfig config =
+        new SubmitConfig(null, new CommentsRules(null, ImmutableList.of("src/", "*.proto")));
+    postConfig(project, config);
+
+    String currentConfig = adminRestSession.get(endpointUrl(project)).getEntityContent();
+    SubmitConfig parsedConfig = newGson().fromJson(currentConfig, SubmitConfig.class);
+    assertThat(parsedConfig.comments)
+        .isEqualTo(new CommentsRules(false, ImmutableList.of("src/", "*.proto")));
   }
 
   @Test
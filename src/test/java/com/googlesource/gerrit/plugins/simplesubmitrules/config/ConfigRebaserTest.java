@@ -0,0 +1,74 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.gerrit.testing.GerritJUnit.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gerrit.extensions.restapi.PreconditionFailedException;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import org.junit.Test;
+
+public class ConfigRebaserTest {
+  @Test
+  public void keepsConcurrentChangesOfOtherSettings() throws Exception {
+    SubmitConfig base = config("MaxWithBlock", false, false);
+    SubmitConfig current = config("MaxNoBlock", false, false);
+    SubmitConfig requested = config("MaxWithBlock", true, true);
+
+    SubmitConfig rebased = ConfigRebaser.rebase(requested, base, current);
+
+    assertThat(rebased.comments.blockIfUnresolvedComments).isTrue();
+    assertThat(rebased.labels)
+        .containsExactly("Code-Review", new LabelDefinition(null, true, null));
+  }
+
+  @Test
+  public void acceptsTheSameConcurrentChange() throws Exception {
+    SubmitConfig base = config("MaxWithBlock", false, false);
+    SubmitConfig current = config("MaxNoBlock", false, false);
+    SubmitConfig requested = config("MaxNoBlock", false, false);
+
+    SubmitConfig rebased = ConfigRebaser.rebase(requested, base, current);
+
+    assertThat(rebased.comments).isNull();
+    assertThat(rebased.labels).isEmpty();
+  }
+
+  @Test
+  public void rejectsConflictingChange() throws Exception {
+    SubmitConfig base = config("MaxWithBlock", false, false);
+    SubmitConfig current = config("MaxNoBlock", false, false);
+    SubmitConfig requested = config("NoBlock", false, false);
+
+    PreconditionFailedException thrown =
+        assertThrows(
+            PreconditionFailedException.class,
+            () -> ConfigRebaser.rebase(requested, base, current));
+    assertThat(thrown)
+        .hasMessageThat()
+        .isEqualTo("function of Code-Review was modified concurrently");
+  }
+
+  private static SubmitConfig config(
+      String function, boolean ignoreSelfApproval, boolean blockIfUnresolvedComments) {
+    return new SubmitConfig(
+        ImmutableMap.of("Code-Review", new LabelDefinition(function, ignoreSelfApproval, null)),
+        new CommentsRules(blockIfUnresolvedComments));
+  }
+}
@@ -15,17 +15,41 @@
 package com.googlesource.gerrit.plugins.simplesubmitrules.config;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
 import static com.google.gerrit.server.project.testing.TestLabels.value;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HttpHeaders;
 import com.google.gerrit.acceptance.LightweightPluginDaemonTest;
 import com.google.gerrit.acceptance.RestResponse;
 import com.google.gerrit.acceptance.TestPlugin;
 import com.google.gerrit.acceptance.config.GerritConfig;
+import com.google.gerrit.acceptance.testsuite.project.ProjectOperations;
 import com.google.gerrit.common.RawInputUtil;
 import com.google.gerrit.entities.LabelFunction;
 import com.google.gerrit.entities.Project;
+import com.google.gerrit.entities.RefNames;
 import com.google.gerrit.extensions.restapi.RawInput;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.BulkSubmitConfigInput;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.CommentsRules;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.ReindexStatus;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfig;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.SubmitConfigScreen;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.UpdatedSubmitConfig;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpStatus;
+import org.apache.http.message.BasicHeader;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -33,6 +57,8 @@ import org.junit.Test;
     name = "my-plugin",
     sysModule = "com.googlesource.gerrit.plugins.simplesubmitrules.Module")
 public class ConfigServletIT extends LightweightPluginDaemonTest {
+  @Inject private ProjectOperations projectOperations;
+
   @Before
   public void setUp() throws Exception {
     configLabel(
@@ -50,6 +76,91 @@ public class ConfigServletIT extends LightweightPluginDaemonTest {
     r.assertOK();
   }
 
+  @Test
+  public void unchangedConfigIsNotSentAgain() throws Exception {
+    RestResponse r = adminRestSession.getJsonAccept(endpointUrl(project));
+    r.assertOK();
+    String etag = r.getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotNull();
+
+    r =
+        adminRestSession.getWithHeaders(
+            endpointUrl(project), new BasicHeader(HttpHeaders.IF_NONE_MATCH, etag));
+    assertThat(r.getStatusCode()).isEqualTo(HttpStatus.SC_NOT_MODIFIED);
+  }
+
+  @Test
+  public void configUpdateChangesETag() throws Exception {
+    String etag = adminRestSession.getJsonAccept(endpointUrl(project)).getHeader(HttpHeaders.ETAG);
+    adminRestSession.putRaw(endpointUrl(project), createConfig()).assertOK();
+
+    RestResponse r =
+        adminRestSession.getWithHeaders(
+            endpointUrl(project), new BasicHeader(HttpHeaders.IF_NONE_MATCH, etag));
+    r.assertOK();
+    assertThat(r.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+  }
+
+  @Test
+  public void adminCanFetchConfigsOfManyProjects() throws Exception {
+    RestResponse r =
+        adminRestSession.get(
+            "/config/server/simple-submit-rules?p=" + project.get() + "&p=does-not-exist");
+    r.assertOK();
+    String content = r.getEntityContent();
+    assertThat(content.split("\n")).hasLength(2);
+    assertThat(content).contains("{\"project\":\"does-not-exist\",\"error\":\"not found\"}");
+    assertThat(content).contains("{\"project\":\"" + project.get() + "\",\"config\":");
+  }
+
+  @Test
+  public void userDoesNotGetConfigsOfProjectsTheyCanNotRead() throws Exception {
+    RestResponse r = userRestSession.get("/config/server/simple-submit-rules?p=" + project.get());
+    r.assertOK();
+    assertThat(r.getEntityContent().trim())
+        .isEqualTo("{\"project\":\"" + project.get() + "\",\"error\":\"not found\"}");
+  }
+
+  @Test
+  public void invalidRegexIsRejected() throws Exception {
+    adminRestSession.get("/config/server/simple-submit-rules?regex=(").assertBadRequest();
+  }
+
+  @Test
+  public void adminCanModifyConfigsOfManyProjects() throws Exception {
+    Project.NameKey other = projectOperations.newProject().create();
+    RestResponse r =
+        adminRestSession.put(
+            "/config/server/simple-submit-rules",
+            new BulkSubmitConfigInput(
+                ImmutableList.of(project.get(), other.get(), "does-not-exist"),
+                new SubmitConfig(ImmutableMap.of(), new CommentsRules(true))));
+    r.assertOK();
+    assertThat(r.getEntityContent().split("\n"))
+        .asList()
+        .containsExactly(
+            "{\"project\":\"" + project.get() + "\"}",
+            "{\"project\":\"" + other.get() + "\"}",
+            "{\"project\":\"does-not-exist\",\"error\":\"not found\"}");
+    assertThat(adminRestSession.getJsonAccept(endpointUrl(other)).getEntityContent())
+        .contains("\"block_if_unresolved_comments\":true");
+  }
+
+  @Test
+  @GerritConfig(
+      name = "plugin.my-plugin.disallowedLabelFunctions-Code-Review",
+      value = "MaxWithBlock")
+  public void bulkUpdateIsValidatedBeforeAnyWrite() throws Exception {
+    SubmitConfig config = new SubmitConfig();
+    config.labels.put("Code-Review", new LabelDefinition("MaxWithBlock", null, null));
+    RestResponse r =
+        adminRestSession.put(
+            "/config/server/simple-submit-rules",
+            new BulkSubmitConfigInput(ImmutableList.of(project.get()), config));
+    r.assertBadRequest();
+    assertThat(r.getEntityContent()).isEqualTo("MaxWithBlock disallowed");
+  }
+
   @Test
   public void adminCanModifyConfig() throws Exception {
     RawInput rawInput = createConfig();
@@ -57,6 +168,172 @@ public class ConfigServletIT extends LightweightPluginDaemonTest {
     r.assertOK();
   }
 
+  @Test
+  public void unchangedConfigIsNotCommitted() throws Exception {
+    adminRestSession.putRaw(endpointUrl(project), createConfig()).assertOK();
+    ObjectId revision = projectCache.get(project).get().getConfig().getRevision().get();
+
+    RestResponse r = adminRestSession.putRaw(endpointUrl(project), createConfig());
+    r.assertOK();
+    assertThat(r.getEntityContent()).contains("\"unchanged\":true");
+    assertThat(projectCache.get(project).get().getConfig().getRevision()).hasValue(revision);
+  }
+
+  @Test
+  @GerritConfig(name = "plugin.my-plugin.asyncReindex", value = "true")
+  public void asyncReindexReturnsHandle() throws Exception {
+    RestResponse r = adminRestSession.putRaw(endpointUrl(project), createConfig());
+    r.assertOK();
+    UpdatedSubmitConfig updated = newGson().fromJson(r.getReader(), UpdatedSubmitConfig.class);
+    assertThat(updated.reindexHandle).isNotNull();
+
+    String statusUrl =
+        "/projects/"
+            + project.get()
+            + "/simple-submit-rules-reindex?handle="
+            + updated.reindexHandle;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    ReindexStatus status;
+    while (true) {
+      RestResponse s = adminRestSession.get(statusUrl);
+      s.assertOK();
+      status = newGson().fromJson(s.getReader(), ReindexStatus.class);
+      if (!status.pending) {
+        break;
+      }
+      assertWithMessage("reindex still pending").that(System.nanoTime()).isLessThan(deadline);
+      Thread.sleep(50);
+    }
+    assertThat(status).isEqualTo(new ReindexStatus(false));
+  }
+
+  @Test
+  public void childSeesUpdateOfParentConfig() throws Exception {
+    Project.NameKey child = projectOperations.newProject().parent(project).create();
+    assertThat(adminRestSession.getJsonAccept(endpointUrl(child)).getEntityContent())
+        .contains("\"block_if_unresolved_comments\":false");
+
+    adminRestSession.putRaw(endpointUrl(project), createConfig()).assertOK();
+    assertThat(adminRestSession.getJsonAccept(endpointUrl(child)).getEntityContent())
+        .contains("\"block_if_unresolved_comments\":true");
+  }
+
+  @Test
+  public void postOnlyAppliesChangedSettings() throws Exception {
+    Project.NameKey child = projectOperations.newProject().parent(project).create();
+    SubmitConfig read =
+        newGson()
+            .fromJson(
+                adminRestSession.getJsonAccept(endpointUrl(child)).getReader(),
+                SubmitConfig.class);
+    assertThat(read.labels).containsKey("Code-Review");
+
+    read.comments = new CommentsRules(true);
+    adminRestSession.post(endpointUrl(child), read).assertOK();
+
+    assertThat(projectCache.get(child).get().getConfig().getLabelSections()).isEmpty();
+    assertThat(adminRestSession.getJsonAccept(endpointUrl(child)).getEntityContent())
+        .contains("\"block_if_unresolved_comments\":true");
+  }
+
+  @Test
+  @GerritConfig(name = "plugin.my-plugin.disallowedLabelFunctions-Code-Review", value = "NoOp")
+  public void configScreenHasConfigPermissionsAndRestrictions() throws Exception {
+    SubmitConfigScreen screen =
+        newGson()
+            .fromJson(
+                adminRestSession.getJsonAccept(endpointUrl(project) + "-screen").getReader(),
+                SubmitConfigScreen.class);
+    assertThat(screen.canReadConfig).isTrue();
+    assertThat(screen.canWriteConfig).isTrue();
+    assertThat(screen.config.labels).containsKey("Code-Review");
+    assertThat(screen.labelRestrictions.get("Code-Review").disallowedFunctions)
+        .containsExactly("NoOp");
+
+    screen =
+        newGson()
+            .fromJson(
+                userRestSession.getJsonAccept(endpointUrl(project) + "-screen").getReader(),
+                SubmitConfigScreen.class);
+    assertThat(screen.canWriteConfig).isFalse();
+  }
+
+  @Test
+  public void staleUpdateIsRebasedOrRejected() throws Exception {
+    SubmitConfig read =
+        newGson()
+            .fromJson(
+                adminRestSession.getJsonAccept(endpointUrl(project)).getReader(),
+                SubmitConfig.class);
+    assertThat(read.revision).isNotNull();
+    SubmitConfig concurrent = new SubmitConfig();
+    concurrent.labels.put("Code-Review", new LabelDefinition("MaxNoBlock", null, null));
+    adminRestSession.put(endpointUrl(project), concurrent).assertOK();
+
+    read.comments = new CommentsRules(true);
+    adminRestSession.put(endpointUrl(project), read).assertOK();
+
+    read.labels.put("Code-Review", new LabelDefinition("NoBlock", null, null));
+    adminRestSession
+        .put(endpointUrl(project), read)
+        .assertStatus(HttpStatus.SC_PRECONDITION_FAILED);
+  }
+
+  @Test
+  public void updateFromAnUnrelatedRevisionIsRejected() throws Exception {
+    SubmitConfig config = new SubmitConfig();
+    config.comments = new CommentsRules(true);
+    config.revision = gApi.projects().name(project.get()).branch("master").get().revision;
+
+    adminRestSession
+        .put(endpointUrl(project), config)
+        .assertStatus(HttpStatus.SC_PRECONDITION_FAILED);
+  }
+
+  @Test
+  @GerritConfig(name = "plugin.my-plugin.writeCoalescingWindow", value = "500 ms")
+  public void concurrentUpdatesAreAllApplied() throws Exception {
+    SubmitConfig comments = new SubmitConfig();
+    comments.comments = new CommentsRules(true);
+    SubmitConfig labels = new SubmitConfig();
+    labels.labels.put("Code-Review", new LabelDefinition("MaxNoBlock", null, null));
+    ObjectId before = metaConfigRevision();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<RestResponse> first =
+          executor.submit(() -> adminRestSession.put(endpointUrl(project), comments));
+      Future<RestResponse> second =
+          executor.submit(() -> adminRestSession.put(endpointUrl(project), labels));
+      first.get().assertOK();
+      second.get().assertOK();
+    } finally {
+      executor.shutdown();
+    }
+
+    SubmitConfig config =
+        newGson()
+            .fromJson(
+                adminRestSession.getJsonAccept(endpointUrl(project)).getReader(),
+                SubmitConfig.class);
+    assertThat(config.comments.blockIfUnresolvedComments).isTrue();
+    assertThat(config.labels.get("Code-Review").function).isEqualTo("MaxNoBlock");
+
+    // Both updates were written in a single commit.
+    try (Repository repo = repoManager.openRepository(project);
+        RevWalk rw = new RevWalk(repo)) {
+      RevCommit head = rw.parseCommit(metaConfigRevision());
+      assertThat(head.getParentCount()).isEqualTo(1);
+      assertThat(head.getParent(0).getId()).isEqualTo(before);
+    }
+  }
+
+  private ObjectId metaConfigRevision() throws Exception {
+    try (Repository repo = repoManager.openRepository(project)) {
+      return repo.exactRef(RefNames.REFS_CONFIG).getObjectId();
+    }
+  }
+
   @Test
   public void userCanNotFetchConfig() throws Exception {
     RestResponse r = userRestSession.getJsonAccept(endpointUrl(project));
@@ -24,6 +24,7 @@ import com.google.gerrit.extensions.restapi.BadRequestException;
 import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import org.eclipse.jgit.lib.Config;
 import org.junit.Test;
 
 public class ConfigTranslatorTest {
@@ -55,15 +56,25 @@ public class ConfigTranslatorTest {
 
   @Test
   public void checkDisallowedCopyScoreThrowsBadRequest() throws Exception {
+    Config cfg = new Config();
+    cfg.setString(
+        "plugin",
+        "simple-submit-rules",
+        HostPolicy.KEY_DISALLOWED_COPY_SCORE_RULES + "Verified",
+        "copyAllScoresIfNoChange");
+    HostPolicy policy = HostPolicy.compile(cfg, "simple-submit-rules");
+
     BadRequestException thrown =
         assertThrows(
             BadRequestException.class,
             () ->
-                ConfigTranslator.applyCopyScoreRulesTo(
-                    ImmutableSet.of(
-                        "copyAllScoresIfNoChange", "copyAllScoresOnMergeFirstParentUpdate"),
-                    ImmutableSet.of("copyAllScoresIfNoChange"),
-                    LabelType.withDefaultValues("Verified").toBuilder()));
+                policy.check(
+                    "Verified",
+                    new LabelDefinition(
+                        null,
+                        null,
+                        ImmutableSet.of(
+                            "copyAllScoresIfNoChange", "copyAllScoresOnMergeFirstParentUpdate"))));
     assertThat(thrown)
         .hasMessageThat()
         .contains("copy score rules [copyAllScoresIfNoChange] are forbidden");
@@ -113,8 +124,7 @@ public class ConfigTranslatorTest {
   private static void checkLabelToGerritPresent(
       String copyScoreName, Predicate<LabelType> functionToCheck) throws Exception {
     LabelType.Builder label = LabelType.withDefaultValues("Verified").toBuilder();
-    ConfigTranslator.applyCopyScoreRulesTo(
-        ImmutableSet.of(copyScoreName), ImmutableSet.of(), label);
+    ConfigTranslator.applyCopyScoreRulesTo(ImmutableSet.of(copyScoreName), label);
     assertWithMessage("[case %s:true]", copyScoreName)
         .that(functionToCheck.test(label.build()))
         .isTrue();
@@ -124,7 +134,7 @@ public class ConfigTranslatorTest {
       String copyScoreName, Predicate<LabelType> functionToCheck) throws Exception {
     LabelType.Builder label = LabelType.withDefaultValues("Verified").toBuilder();
 
-    ConfigTranslator.applyCopyScoreRulesTo(ImmutableSet.of(), ImmutableSet.of(), label);
+    ConfigTranslator.applyCopyScoreRulesTo(ImmutableSet.of(), label);
     assertWithMessage("[case %s:false]", copyScoreName)
         .that(functionToCheck.test(label.build()))
         .isFalse();
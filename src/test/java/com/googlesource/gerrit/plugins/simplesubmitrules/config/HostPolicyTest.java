@@ -0,0 +1,76 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.config;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.gerrit.testing.GerritJUnit.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.gerrit.entities.LabelFunction;
+import com.google.gerrit.extensions.restapi.BadRequestException;
+import com.googlesource.gerrit.plugins.simplesubmitrules.api.LabelDefinition;
+import org.eclipse.jgit.lib.Config;
+import org.junit.Test;
+
+public class HostPolicyTest {
+  private static final String PLUGIN_NAME = "simple-submit-rules";
+
+  @Test
+  public void compilesRulesPerLabel() throws Exception {
+    Config cfg = new Config();
+    cfg.setStringList(
+        "plugin",
+        PLUGIN_NAME,
+        "disallowedLabelFunctions-Code-Review",
+        ImmutableList.of("MaxNoBlock", "NoBlock", "Unknown"));
+    cfg.setString("plugin", PLUGIN_NAME, "disallowedCopyScoreRules-Verified", "copyMaxScore");
+
+    HostPolicy policy = HostPolicy.compile(cfg, PLUGIN_NAME);
+
+    assertThat(policy.getDisallowedLabelFunctions("code-review"))
+        .containsExactly(LabelFunction.MAX_NO_BLOCK, LabelFunction.NO_BLOCK);
+    assertThat(policy.getDisallowedLabelFunctions("Verified")).isEmpty();
+    assertThat(policy.getDisallowedCopyScoreRules("Verified"))
+        .containsExactly(CopyScoreRule.COPY_MAX_SCORE);
+  }
+
+  @Test
+  public void checkRejectsDisallowedSettings() throws Exception {
+    Config cfg = new Config();
+    cfg.setString("plugin", PLUGIN_NAME, "disallowedLabelFunctions-Code-Review", "MaxNoBlock");
+    cfg.setString("plugin", PLUGIN_NAME, "disallowedCopyScoreRules-Code-Review", "copyMinScore");
+    HostPolicy policy = HostPolicy.compile(cfg, PLUGIN_NAME);
+
+    BadRequestException thrown =
+        assertThrows(
+            BadRequestException.class,
+            () -> policy.check("Code-Review", new LabelDefinition("MaxNoBlock", null, null)));
+    assertThat(thrown).hasMessageThat().isEqualTo("MaxNoBlock disallowed");
+
+    thrown =
+        assertThrows(
+            BadRequestException.class,
+            () ->
+                policy.check(
+                    "Code-Review",
+                    new LabelDefinition(
+                        null, null, ImmutableSet.of("copyMaxScore", "copyMinScore"))));
+    assertThat(thrown).hasMessageThat().isEqualTo("copy score rules [copyMinScore] are forbidden");
+
+    policy.check("Code-Review", new LabelDefinition("MaxWithBlock", null, null));
+    policy.check("Verified", new LabelDefinition("MaxNoBlock", null, null));
+  }
+}
@@ -14,6 +14,7 @@
 
 package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
 
@@ -23,12 +24,19 @@ import com.google.gerrit.acceptance.LightweightPluginDaemonTest;
 import com.google.gerrit.acceptance.NoHttpd;
 import com.google.gerrit.acceptance.PushOneCommit;
 import com.google.gerrit.acceptance.TestPlugin;
+import com.google.gerrit.acceptance.testsuite.group.GroupOperations;
+import com.google.gerrit.entities.AccountGroup;
+import com.google.gerrit.entities.Change;
 import com.google.gerrit.entities.SubmitRecord;
 import com.google.gerrit.extensions.api.changes.ReviewInput;
 import com.google.gerrit.extensions.client.Side;
+import com.google.gerrit.server.config.PluginConfig;
 import com.google.gerrit.server.query.change.ChangeData;
+import com.google.inject.Inject;
 import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -39,6 +47,8 @@ import org.junit.Test;
 public class NoUnresolvedCommentsRuleIT extends LightweightPluginDaemonTest {
   private static final String FILENAME = "my.file";
 
+  @Inject private GroupOperations groupOperations;
+
   @Before
   public void enableRuleBeforeTest() throws Exception {
     enableRule(true);
@@ -100,24 +110,224 @@ public class NoUnresolvedCommentsRuleIT extends LightweightPluginDaemonTest {
     assertThat(submitRecords).isEmpty();
   }
 
+  @Test
+  public void picksUpConfigChangesImmediately() throws Exception {
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    assertThat(evaluate(r.getChange())).isPresent();
+
+    enableRule(false);
+    assertThat(evaluate(r.getChange())).isEmpty();
+
+    enableRule(true);
+    assertThat(evaluate(r.getChange())).isPresent();
+  }
+
+  @Test
+  public void toleratesUpToMaxUnresolvedComments() throws Exception {
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setInt(SimpleSubmitRulesConfig.KEY_MAX_UNRESOLVED_COMMENTS, 1);
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+
+    addComment(r, comment);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+  }
+
+  @Test
+  public void blocksOnlyOnUnresolvedCommentsOfLatestPatchSet() throws Exception {
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setBoolean(
+              SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_LATEST_PATCH_SET, true);
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+
+    PushOneCommit.Result amended = amendChange(r.getChangeId());
+    assertThat(evaluate(amended.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void blocksOnlyOnUnresolvedCommentsOnPaths() throws Exception {
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setString(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH, "src/");
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void blocksOnUnresolvedThreadOnMatchingPath() throws Exception {
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setString(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH, "*.file");
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = false;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    String root = gApi.changes().id(r.getChangeId()).comments().get(FILENAME).get(0).id;
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+
+    // Reopened by a reply: the thread is unresolved again.
+    addComment(r, reply(root, true));
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+  }
+
+  @Test
+  public void countsBranchedThreadsOnce() throws Exception {
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setInt(SimpleSubmitRulesConfig.KEY_MAX_UNRESOLVED_COMMENTS, 1);
+          cfg.setString(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH, "other/");
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    String root = gApi.changes().id(r.getChangeId()).comments().get(FILENAME).get(0).id;
+    addComment(r, reply(root, true));
+    addComment(r, reply(root, true));
+
+    // A single unresolved thread, as counted by Gerrit, whether the comments are scanned or not.
+    assertThat(r.getChange().unresolvedCommentCount()).isEqualTo(1);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+
+    String key = SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_ON_PATH;
+    configureRules(cfg -> cfg.setString(key, FILENAME));
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+
+    // Resolved by the comment written last, even though another branch ends unresolved.
+    addComment(r, reply(root, false));
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void recountsOnceACommentIsResolved() throws Exception {
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    UnresolvedCommentCountCache counts =
+        plugin.getSysInjector().getInstance(UnresolvedCommentCountCache.class);
+    assertThat(counts.get(r.getChange())).isEqualTo(1);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+
+    String root = gApi.changes().id(r.getChangeId()).comments().get(FILENAME).get(0).id;
+    addComment(r, reply(root, false));
+
+    assertThat(counts.get(r.getChange())).isEqualTo(0);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void followsMembershipOfTheGroups() throws Exception {
+    AccountGroup.UUID group = groupOperations.newGroup().create();
+    configureRules(
+        cfg -> {
+          cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, false);
+          cfg.setString(
+              SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS_FROM_GROUP, group.get());
+        });
+    ReviewInput.CommentInput comment = newFileComment();
+    comment.unresolved = true;
+    PushOneCommit.Result r = createChangeWithComment(comment);
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+
+    groupOperations.group(group).forUpdate().addMember(admin.id()).update();
+
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.NOT_READY);
+  }
+
+  @Test
+  public void cachedRecordsAreNotShared() throws Exception {
+    PushOneCommit.Result r = createChange("refs/for/master");
+    SubmitRecord first = evaluate(r.getChange()).get();
+    first.status = SubmitRecord.Status.RULE_ERROR;
+
+    assertThat(evaluate(r.getChange()).get().status).isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void batchEvaluationMatchesSingleEvaluation() throws Exception {
+    ReviewInput.CommentInput unresolved = newFileComment();
+    unresolved.unresolved = true;
+    PushOneCommit.Result blocked = createChangeWithComment(unresolved);
+    PushOneCommit.Result ok = createChange("refs/for/master");
+
+    NoUnresolvedCommentsBatchEvaluator evaluator =
+        plugin.getSysInjector().getInstance(NoUnresolvedCommentsBatchEvaluator.class);
+    Map<Change.Id, Optional<SubmitRecord>> results =
+        evaluator.evaluate(ImmutableList.of(blocked.getChange(), ok.getChange()));
+
+    assertThat(results.keySet())
+        .containsExactly(blocked.getChange().getId(), ok.getChange().getId())
+        .inOrder();
+    assertThat(results.get(blocked.getChange().getId()).get().status)
+        .isEqualTo(SubmitRecord.Status.NOT_READY);
+    assertThat(results.get(ok.getChange().getId()).get().status)
+        .isEqualTo(SubmitRecord.Status.OK);
+  }
+
+  @Test
+  public void changesCanBeQueriedByRuleStatus() throws Exception {
+    ReviewInput.CommentInput unresolved = newFileComment();
+    unresolved.unresolved = true;
+    PushOneCommit.Result blocked = createChangeWithComment(unresolved);
+    PushOneCommit.Result ok = createChange("refs/for/master");
+
+    assertThat(queryIds("status_my-plugin:blocked"))
+        .containsExactly(blocked.getChange().getId().get());
+    assertThat(queryIds("status_my-plugin:ok")).containsExactly(ok.getChange().getId().get());
+
+    enableRule(false);
+    gApi.changes().id(ok.getChangeId()).index();
+    assertThat(queryIds("status_my-plugin:disabled"))
+        .containsExactly(ok.getChange().getId().get());
+  }
+
+  private ImmutableList<Integer> queryIds(String query) throws Exception {
+    return gApi.changes().query("is:open " + query).get().stream()
+        .map(c -> c._number)
+        .collect(toImmutableList());
+  }
+
   private PushOneCommit.Result createChangeWithComment(ReviewInput.CommentInput comment)
       throws Exception {
     PushOneCommit.Result r = createChange("My change", FILENAME, "new content");
+    addComment(r, comment);
+    return r;
+  }
+
+  private void addComment(PushOneCommit.Result r, ReviewInput.CommentInput comment)
+      throws Exception {
     ReviewInput reviewInput = new ReviewInput();
     reviewInput.comments = ImmutableMap.of(comment.path, ImmutableList.of(comment));
     revision(r).review(reviewInput);
-
-    return r;
   }
 
   private void enableRule(boolean newState) throws Exception {
+    configureRules(
+        cfg -> cfg.setBoolean(SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, newState));
+  }
+
+  private void configureRules(Consumer<PluginConfig.Update> update) throws Exception {
     try (ProjectConfigUpdate u = updateProject(project)) {
-      u.getConfig()
-          .updatePluginConfig(
-              plugin.getName(),
-              cfg ->
-                  cfg.setBoolean(
-                      SimpleSubmitRulesConfig.KEY_BLOCK_IF_UNRESOLVED_COMMENTS, newState));
+      u.getConfig().updatePluginConfig(plugin.getName(), update);
       u.save();
     }
   }
@@ -129,6 +339,13 @@ public class NoUnresolvedCommentsRuleIT extends LightweightPluginDaemonTest {
     return rule.evaluate(cd);
   }
 
+  private static ReviewInput.CommentInput reply(String inReplyTo, boolean unresolved) {
+    ReviewInput.CommentInput c = newFileComment();
+    c.inReplyTo = inReplyTo;
+    c.unresolved = unresolved;
+    return c;
+  }
+
   private static ReviewInput.CommentInput newFileComment() {
     ReviewInput.CommentInput c = new ReviewInput.CommentInput();
     c.path = FILENAME;
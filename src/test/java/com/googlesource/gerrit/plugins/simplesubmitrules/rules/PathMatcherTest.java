@@ -0,0 +1,79 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+public class PathMatcherTest {
+  @Test
+  public void directoryMatchesTheFilesUnderIt() throws Exception {
+    PathMatcher matcher = PathMatcher.compile(ImmutableList.of("src/main/"));
+
+    assertThat(matcher.matches("src/main/A.java")).isTrue();
+    assertThat(matcher.matches("src/main/a/b/C.java")).isTrue();
+    assertThat(matcher.matches("src/test/A.java")).isFalse();
+    assertThat(matcher.matches("other/src/main/A.java")).isFalse();
+  }
+
+  @Test
+  public void patternWithoutSlashMatchesAtAnyDepth() throws Exception {
+    PathMatcher matcher = PathMatcher.compile(ImmutableList.of("*.proto", "BUILD"));
+
+    assertThat(matcher.matches("api.proto")).isTrue();
+    assertThat(matcher.matches("a/b/api.proto")).isTrue();
+    assertThat(matcher.matches("a/BUILD")).isTrue();
+    assertThat(matcher.matches("a/api.protobuf")).isFalse();
+    assertThat(matcher.matches("a/BUILD.bazel")).isFalse();
+  }
+
+  @Test
+  public void anySegments() throws Exception {
+    PathMatcher matcher = PathMatcher.compile(ImmutableList.of("src/**/test/*.java"));
+
+    assertThat(matcher.matches("src/test/A.java")).isTrue();
+    assertThat(matcher.matches("src/a/b/test/A.java")).isTrue();
+    assertThat(matcher.matches("src/a/b/test/A.py")).isFalse();
+    assertThat(matcher.matches("lib/test/A.java")).isFalse();
+  }
+
+  @Test
+  public void segmentGlobs() throws Exception {
+    assertThat(PathMatcher.globMatches("*.java", "A.java")).isTrue();
+    assertThat(PathMatcher.globMatches("*.java", ".java")).isTrue();
+    assertThat(PathMatcher.globMatches("A?.java", "AB.java")).isTrue();
+    assertThat(PathMatcher.globMatches("A?.java", "A.java")).isFalse();
+    assertThat(PathMatcher.globMatches("*Test*.java", "FooTestBar.java")).isTrue();
+    assertThat(PathMatcher.globMatches("*Test*.java", "FooBar.java")).isFalse();
+  }
+
+  @Test
+  public void leadingSlashAnchorsAtTheRoot() throws Exception {
+    PathMatcher matcher = PathMatcher.compile(ImmutableList.of("/BUILD"));
+
+    assertThat(matcher.matches("BUILD")).isTrue();
+    assertThat(matcher.matches("a/BUILD")).isFalse();
+  }
+
+  @Test
+  public void emptyPatternsAreIgnored() throws Exception {
+    PathMatcher matcher = PathMatcher.compile(ImmutableList.of("", "/", " "));
+
+    assertThat(matcher.isEmpty()).isTrue();
+    assertThat(matcher.matches("a/b")).isFalse();
+  }
+}
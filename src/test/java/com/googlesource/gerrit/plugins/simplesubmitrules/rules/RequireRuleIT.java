@@ -0,0 +1,153 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gerrit.acceptance.LightweightPluginDaemonTest;
+import com.google.gerrit.acceptance.NoHttpd;
+import com.google.gerrit.acceptance.PushOneCommit;
+import com.google.gerrit.acceptance.TestPlugin;
+import com.google.gerrit.entities.SubmitRecord;
+import com.googlesource.gerrit.plugins.simplesubmitrules.SimpleSubmitRulesConfig;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+@TestPlugin(
+    name = "my-plugin",
+    sysModule = "com.googlesource.gerrit.plugins.simplesubmitrules.Module")
+@NoHttpd
+public class RequireRuleIT extends LightweightPluginDaemonTest {
+  @Test
+  public void doesNothingByDefault() throws Exception {
+    PushOneCommit.Result r = createChange();
+
+    assertThat(evaluate(r)).isEmpty();
+  }
+
+  @Test
+  public void reportsUnmetRequirements() throws Exception {
+    require("label:Code-Review>=+2 OR path:docs/**", "unresolved=0");
+    PushOneCommit.Result r = createChange();
+
+    SubmitRecord result = evaluate(r).get();
+    assertThat(result.status).isEqualTo(SubmitRecord.Status.NOT_READY);
+    assertThat(result.requirements).hasSize(1);
+    assertThat(result.requirements.get(0).fallbackText())
+        .isEqualTo("Requires: label:Code-Review>=+2 OR path:docs/**");
+
+    approve(r.getChangeId());
+
+    result = evaluate(r).get();
+    assertThat(result.status).isEqualTo(SubmitRecord.Status.OK);
+    assertThat(result.requirements).isEmpty();
+  }
+
+  @Test
+  public void cachedOutcomeKeepsUnmetRequirements() throws Exception {
+    require("label:Code-Review>=+2", "size<1");
+    PushOneCommit.Result r = createChange();
+
+    SubmitRecord first = evaluate(r).get();
+    ImmutableList<String> unmet = ImmutableList.of("label:Code-Review>=+2", "size<1");
+    assertThat(cachedOutcome(r))
+        .hasValue(SubmitRecordCache.Outcome.create(SubmitRecord.Status.NOT_READY, unmet));
+
+    // Replaced behind the rule's back: the next evaluation must return it, not recompute it.
+    submitRecordCache()
+        .put(
+            RequireRule.RULE_NAME,
+            r.getChange(),
+            settings(),
+            SubmitRecordCache.Outcome.create(
+                SubmitRecord.Status.NOT_READY, ImmutableList.of("size<1")));
+    SubmitRecord second = evaluate(r).get();
+    assertThat(second.status).isEqualTo(first.status);
+    assertThat(second.requirements).hasSize(1);
+    assertThat(second.requirements.get(0).fallbackText()).isEqualTo("Requires: size<1");
+  }
+
+  @Test
+  public void ownerInGroup() throws Exception {
+    String ownerIsAdmin = "ownerin:" + adminGroupUuid().get();
+    require(ownerIsAdmin);
+    PushOneCommit.Result r = createChange();
+
+    assertThat(evaluate(r).get().status).isEqualTo(SubmitRecord.Status.OK);
+    // Group membership changes without moving the change: the outcome is never cached.
+    assertThat(cachedOutcome(r)).isEmpty();
+
+    require("NOT " + ownerIsAdmin);
+    SubmitRecord result = evaluate(r).get();
+    assertThat(result.status).isEqualTo(SubmitRecord.Status.NOT_READY);
+    assertThat(result.requirements.get(0).fallbackText())
+        .isEqualTo("Requires: NOT " + ownerIsAdmin);
+  }
+
+  @Test
+  public void conditionsOnFilesAndSize() throws Exception {
+    require("NOT path:*.txt", "size<1");
+    PushOneCommit.Result r = createChange();
+
+    SubmitRecord result = evaluate(r).get();
+    assertThat(result.status).isEqualTo(SubmitRecord.Status.NOT_READY);
+    assertThat(result.requirements).hasSize(2);
+  }
+
+  @Test
+  public void invalidRequirementIsAnError() throws Exception {
+    require("label:Code-Review>=+2 OR");
+    PushOneCommit.Result r = createChange();
+
+    SubmitRecord result = evaluate(r).get();
+    assertThat(result.status).isEqualTo(SubmitRecord.Status.RULE_ERROR);
+    assertThat(result.errorMessage).contains("label:Code-Review>=+2 OR");
+  }
+
+  private void require(String... expressions) throws Exception {
+    List<String> requirements = Arrays.asList(expressions);
+    try (ProjectConfigUpdate u = updateProject(project)) {
+      u.getConfig()
+          .updatePluginConfig(
+              plugin.getName(),
+              cfg -> cfg.setStringList(SimpleSubmitRulesConfig.KEY_REQUIRE, requirements));
+      u.save();
+    }
+  }
+
+  private Optional<SubmitRecordCache.Outcome> cachedOutcome(PushOneCommit.Result r)
+      throws Exception {
+    return Optional.ofNullable(
+        submitRecordCache().getIfPresent(RequireRule.RULE_NAME, r.getChange(), settings()));
+  }
+
+  private RuleSettings settings() throws Exception {
+    return plugin.getSysInjector().getInstance(ProjectRuleSettings.class).get(project).get();
+  }
+
+  private SubmitRecordCache submitRecordCache() {
+    return plugin.getSysInjector().getInstance(SubmitRecordCache.class);
+  }
+
+  private Optional<SubmitRecord> evaluate(PushOneCommit.Result r) {
+    RequireRule rule = plugin.getSysInjector().getInstance(RequireRule.class);
+
+    return rule.evaluate(r.getChange());
+  }
+}
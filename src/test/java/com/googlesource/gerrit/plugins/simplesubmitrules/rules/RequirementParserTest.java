@@ -0,0 +1,123 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.gerrit.testing.GerritJUnit.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gerrit.server.IdentifiedUser;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.ChangeCondition.Result;
+import java.util.Optional;
+import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.junit.Test;
+
+public class RequirementParserTest {
+  @Test
+  public void parsesConditions() throws Exception {
+    assertThat(RequirementParser.parse("label:Code-Review>=+2").cost())
+        .isEqualTo(ChangeCondition.LABEL_COST);
+    assertThat(RequirementParser.parse("ownerin:abc123").cost())
+        .isEqualTo(ChangeCondition.OWNER_GROUP_COST);
+    assertThat(RequirementParser.parse("unresolved<=1").cost())
+        .isEqualTo(ChangeCondition.UNRESOLVED_COMMENTS_COST);
+    assertThat(RequirementParser.parse("size<100").cost()).isEqualTo(ChangeCondition.SIZE_COST);
+    assertThat(RequirementParser.parse("path:docs/**").cost()).isEqualTo(ChangeCondition.PATH_COST);
+  }
+
+  @Test
+  public void parsesOperators() throws Exception {
+    ChangeCondition condition =
+        RequirementParser.parse("(label:Verified=1 OR NOT path:*.md) and size>=10 unresolved=0");
+
+    assertThat(condition.cost())
+        .isEqualTo(
+            ChangeCondition.LABEL_COST
+                + ChangeCondition.PATH_COST
+                + ChangeCondition.SIZE_COST
+                + ChangeCondition.UNRESOLVED_COMMENTS_COST);
+  }
+
+  @Test
+  public void comparisons() throws Exception {
+    assertThat(ChangeCondition.Comparison.LESS_OR_EQUAL.test(2, 2)).isTrue();
+    assertThat(ChangeCondition.Comparison.LESS.test(2, 2)).isFalse();
+    assertThat(ChangeCondition.Comparison.GREATER_OR_EQUAL.test(-1, -2)).isTrue();
+    assertThat(ChangeCondition.Comparison.GREATER.test(-2, -1)).isFalse();
+    assertThat(ChangeCondition.Comparison.EQUAL.test(1, 1)).isTrue();
+  }
+
+  @Test
+  public void rejectsInvalidExpressions() throws Exception {
+    assertInvalid("");
+    assertInvalid("label:Code-Review");
+    assertInvalid("label:=1");
+    assertInvalid("label:Code-Review>=high");
+    assertInvalid("unresolved");
+    assertInvalid("size:10");
+    assertInvalid("path:");
+    assertInvalid("reviewer:admin");
+    assertInvalid("(size<10");
+    assertInvalid("size<10)");
+    assertInvalid("size<10 OR");
+    assertInvalid("NOT");
+  }
+
+  @Test
+  public void invalidRequirementKeepsItsError() throws Exception {
+    Requirement requirement = Requirement.compile("size<");
+
+    assertThat(requirement.error()).contains("size<");
+    assertThat(Requirement.compile("size<1").error()).isNull();
+  }
+
+  @Test
+  public void negatedConditionOnUnloadableDataIsUnknown() throws Exception {
+    assertThat(evaluateWithoutData("NOT unresolved>0")).isEqualTo(Result.UNKNOWN);
+    assertThat(evaluateWithoutData("NOT size>500")).isEqualTo(Result.UNKNOWN);
+    assertThat(evaluateWithoutData("NOT (size>500 OR unresolved>0)")).isEqualTo(Result.UNKNOWN);
+
+    ConditionContext context = contextWithoutData();
+    assertThat(Requirement.compile("NOT unresolved>0").test(context)).isFalse();
+    assertThat(context.isComplete()).isFalse();
+  }
+
+  @Test
+  public void unknownConditionDoesNotDecideWhenAnotherOneDoes() throws Exception {
+    // The change modifies no file and has no vote.
+    assertThat(evaluateWithoutData("size>500 OR NOT path:docs/**")).isEqualTo(Result.MET);
+    assertThat(evaluateWithoutData("NOT size>500 path:docs/**")).isEqualTo(Result.UNMET);
+    assertThat(evaluateWithoutData("NOT size>500 OR label:Code-Review=2"))
+        .isEqualTo(Result.UNKNOWN);
+  }
+
+  private static Result evaluateWithoutData(String expression) throws Exception {
+    return RequirementParser.parse(expression).test(contextWithoutData());
+  }
+
+  /** Context of a change whose comments and size can't be loaded. */
+  private static ConditionContext contextWithoutData() {
+    ChangeData cd = mock(ChangeData.class);
+    when(cd.changedLines()).thenReturn(Optional.empty());
+    return new ConditionContext(
+        cd, mock(UnresolvedCommentCountCache.class), mock(IdentifiedUser.GenericFactory.class));
+  }
+
+  private static void assertInvalid(String expression) {
+    assertThrows(ConfigInvalidException.class, () -> RequirementParser.parse(expression));
+  }
+}
@@ -0,0 +1,69 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.googlesource.gerrit.plugins.simplesubmitrules.rules.UnresolvedCommentCountCacheTest.changeData;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.gerrit.entities.SubmitRecord;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.SubmitRecordCache.Outcome;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Test;
+
+public class SubmitRecordCacheTest {
+  private static final String RULE_NAME = "NoUnresolvedComments";
+  private static final ObjectId SETTINGS_REVISION =
+      ObjectId.fromString("0987654321098765432109876543210987654321");
+
+  @Test
+  public void hitDoesNotLoadNotes() throws Exception {
+    SubmitRecordCache cache = new SubmitRecordCache(CacheBuilder.newBuilder().build());
+    ChangeData cd = changeData(ObjectId.fromString("1234567890123456789012345678901234567890"));
+    RuleSettings settings = settings(SETTINGS_REVISION);
+    Outcome outcome = Outcome.create(SubmitRecord.Status.OK);
+
+    cache.put(RULE_NAME, cd, settings, outcome);
+
+    assertThat(cache.getIfPresent(RULE_NAME, cd, settings)).isEqualTo(outcome);
+    verify(cd, never()).notes();
+  }
+
+  @Test
+  public void movedMetaRefMisses() throws Exception {
+    SubmitRecordCache cache = new SubmitRecordCache(CacheBuilder.newBuilder().build());
+    RuleSettings settings = settings(SETTINGS_REVISION);
+    cache.put(
+        RULE_NAME,
+        changeData(ObjectId.fromString("1234567890123456789012345678901234567890")),
+        settings,
+        Outcome.create(SubmitRecord.Status.OK));
+
+    ChangeData moved = changeData(ObjectId.fromString("1111111111111111111111111111111111111111"));
+
+    assertThat(cache.getIfPresent(RULE_NAME, moved, settings)).isNull();
+  }
+
+  private static RuleSettings settings(ObjectId revision) {
+    RuleSettings settings = mock(RuleSettings.class);
+    when(settings.revision()).thenReturn(revision);
+    return settings;
+  }
+}
@@ -0,0 +1,79 @@
+// Copyright (C) 2026 The Android Open Source Project
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.googlesource.gerrit.plugins.simplesubmitrules.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.gerrit.entities.Change;
+import com.google.gerrit.server.query.change.ChangeData;
+import com.googlesource.gerrit.plugins.simplesubmitrules.rules.UnresolvedCommentCountCache.Key;
+import org.eclipse.jgit.lib.ObjectId;
+import org.junit.Test;
+
+public class UnresolvedCommentCountCacheTest {
+  @Test
+  public void keySerializerRoundTrip() throws Exception {
+    Key key =
+        Key.create(
+            Change.id(123456), ObjectId.fromString("1234567890123456789012345678901234567890"));
+
+    byte[] serialized = Key.Serializer.INSTANCE.serialize(key);
+
+    assertThat(Key.Serializer.INSTANCE.deserialize(serialized)).isEqualTo(key);
+  }
+
+  @Test
+  public void hitDoesNotLoadNotes() throws Exception {
+    UnresolvedCommentCountCache cache =
+        new UnresolvedCommentCountCache(CacheBuilder.newBuilder().build());
+    ChangeData cd = changeData(ObjectId.fromString("1234567890123456789012345678901234567890"));
+    when(cd.unresolvedCommentCount()).thenReturn(3);
+
+    assertThat(cache.get(cd)).isEqualTo(3);
+    assertThat(cache.get(cd)).isEqualTo(3);
+
+    verify(cd, times(1)).unresolvedCommentCount();
+    verify(cd, never()).notes();
+  }
+
+  @Test
+  public void movedMetaRefIsCountedAgain() throws Exception {
+    UnresolvedCommentCountCache cache =
+        new UnresolvedCommentCountCache(CacheBuilder.newBuilder().build());
+    ChangeData before =
+        changeData(ObjectId.fromString("1234567890123456789012345678901234567890"));
+    when(before.unresolvedCommentCount()).thenReturn(1);
+    ChangeData after = changeData(ObjectId.fromString("0987654321098765432109876543210987654321"));
+    when(after.unresolvedCommentCount()).thenReturn(0);
+
+    assertThat(cache.get(before)).isEqualTo(1);
+    assertThat(cache.get(after)).isEqualTo(0);
+  }
+
+  static ChangeData changeData(ObjectId metaRevision) {
+    Change change = mock(Change.class);
+    when(change.getMetaRevision()).thenReturn(metaRevision);
+    ChangeData cd = mock(ChangeData.class);
+    when(cd.getId()).thenReturn(Change.id(1));
+    when(cd.change()).thenReturn(change);
+    return cd;
+  }
+}
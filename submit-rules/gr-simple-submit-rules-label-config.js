@@ -40,6 +40,16 @@ class SimpleSubmitRulesLableConfig extends Polymer.Element {
         notify: true,
       },
       readOnly: Boolean,
+      /**
+       * Settings the host doesn't allow on this label, as sent by the
+       * server: disallowed_functions and disallowed_copy_score_rules.
+       */
+      restrictions: {
+        type: Object,
+        value() {
+          return {};
+        },
+      },
       // The two "_updating" booleans are there to prevent an infinite loop:
       // when the user changes a value, we update another value and this
       // update in turn triggers the function again.
@@ -109,6 +119,15 @@ class SimpleSubmitRulesLableConfig extends Polymer.Element {
     this._updatingFunction = false;
   }
 
+  _isFunctionDisallowed(restrictions, functionName) {
+    return (restrictions.disallowed_functions || []).includes(functionName);
+  }
+
+  _computeCopyScoreRuleDisabled(readOnly, restrictions, rule) {
+    return readOnly ||
+        (restrictions.disallowed_copy_score_rules || []).includes(rule);
+  }
+
   _computeLabelConfig(labels, labelName) {
     this.linkPaths(['repoConfig.labels', labelName], '_labelConfig');
     this.linkPaths('_labelConfig', ['repoConfig.labels', labelName]);
@@ -62,11 +62,16 @@ export const htmlTemplate = Polymer.html`
             <gr-select id="functionName"
                 bind-value="{{_labelConfig.function}}">
               <select disabled$="[[readOnly]]">
-                <option value="MaxNoBlock">MaxNoBlock</option>
-                <option value="MaxWithBlock">MaxWithBlock</option>
-                <option value="AnyWithBlock">AnyWithBlock</option>
-                <option value="NoBlock">NoBlock</option>
-                <option value="NoOp">NoOp</option>
+                <option value="MaxNoBlock"
+                    disabled$="[[_isFunctionDisallowed(restrictions, 'MaxNoBlock')]]">MaxNoBlock</option>
+                <option value="MaxWithBlock"
+                    disabled$="[[_isFunctionDisallowed(restrictions, 'MaxWithBlock')]]">MaxWithBlock</option>
+                <option value="AnyWithBlock"
+                    disabled$="[[_isFunctionDisallowed(restrictions, 'AnyWithBlock')]]">AnyWithBlock</option>
+                <option value="NoBlock"
+                    disabled$="[[_isFunctionDisallowed(restrictions, 'NoBlock')]]">NoBlock</option>
+                <option value="NoOp"
+                    disabled$="[[_isFunctionDisallowed(restrictions, 'NoOp')]]">NoOp</option>
               </select>
             </gr-select>
           </span>
@@ -105,7 +110,7 @@ export const htmlTemplate = Polymer.html`
           <input id="copyMinScore"
               type="checkbox"
               checked="{{_copyScoreRules.copyMinScore::change}}"
-              disabled$="[[readOnly]]">
+              disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyMinScore')]]">
           </span>
         </section>
 
@@ -124,7 +129,7 @@ export const htmlTemplate = Polymer.html`
             <input id="copyMaxScore"
                 type="checkbox"
                 checked="{{_copyScoreRules.copyMaxScore::change}}"
-                disabled$="[[readOnly]]">
+                disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyMaxScore')]]">
           </span>
         </section>
 
@@ -144,7 +149,7 @@ export const htmlTemplate = Polymer.html`
             <input id="copyAllScoresOnTrivialRebase"
                 type="checkbox"
                 checked="{{_copyScoreRules.copyAllScoresOnTrivialRebase::change}}"
-                disabled$="[[readOnly]]">
+                disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyAllScoresOnTrivialRebase')]]">
           </span>
         </section>
 
@@ -164,7 +169,7 @@ export const htmlTemplate = Polymer.html`
             <input id="copyAllScoresIfNoCodeChange"
                 type="checkbox"
                 checked="{{_copyScoreRules.copyAllScoresIfNoCodeChange::change}}"
-                disabled$="[[readOnly]]">
+                disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyAllScoresIfNoCodeChange')]]">
           </span>
         </section>
 
@@ -185,7 +190,7 @@ export const htmlTemplate = Polymer.html`
             <input id="copyAllScoresIfNoChange"
                 type="checkbox"
                 checked="{{_copyScoreRules.copyAllScoresIfNoChange::change}}"
-                disabled$="[[readOnly]]">
+                disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyAllScoresIfNoChange')]]">
           </span>
         </section>
 
@@ -205,7 +210,7 @@ export const htmlTemplate = Polymer.html`
             <input id="copyAllScoresOnMergeFirstParentUpdate"
                 type="checkbox"
                 checked="{{_copyScoreRules.copyAllScoresOnMergeFirstParentUpdate::change}}"
-                disabled$="[[readOnly]]">
+                disabled$="[[_computeCopyScoreRuleDisabled(readOnly, restrictions, 'copyAllScoresOnMergeFirstParentUpdate')]]">
           </span>
         </section>
 
@@ -27,6 +27,13 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
       repoName: String,
       /** @type {?} */
       _repoConfig: Object,
+      /**
+       * The config as last loaded or saved, to only send the changed
+       * settings when saving.
+       *
+       * @type {?}
+       */
+      _originalConfig: Object,
       _configChanged: {
         type: Boolean,
         value: false,
@@ -36,6 +43,13 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
         value: true,
       },
       _restApi: Object,
+      /** Restrictions set by the host, by label name. */
+      _labelRestrictions: {
+        type: Object,
+        value() {
+          return {};
+        },
+      },
       _labels: {
         type: Array,
         value() {
@@ -70,6 +84,25 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
       </span>
     </section>
 
+    <section>
+      <span class="title">
+        <gr-tooltip-content has-tooltip
+            title="Comma-separated globs, like src/ or *.proto. When set, only
+                   unresolved comments on matching files block submission."
+            max-width="20em"
+            show-icon>
+          Block submission if files matching these paths have unresolved comments
+        </gr-tooltip-content>
+      </span>
+      <span class="value">
+        <input id="blockOnPaths"
+            type="text"
+            value="[[_computePathsValue(_repoConfig.comments.block_if_unresolved_comments_on_paths)]]"
+            disabled$="[[_readOnly]]"
+            on-change="_handlePathsChanged">
+      </span>
+    </section>
+
     <template is="dom-repeat"
         id="allLabels"
         items="[[_labels]]"
@@ -78,6 +111,7 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
       <gr-simple-submit-rules-label-config mutable-data
           label-name="[[item]]"
           repo-config="{{_repoConfig}}"
+          restrictions="[[_computeLabelRestrictions(_labelRestrictions, item)]]"
           read-only="[[_readOnly]]">
       </gr-simple-submit-rules-label-config>
     </template>
@@ -110,6 +144,18 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
     this._configChanged = true;
   }
 
+  _computePathsValue(paths) {
+    return (paths || []).join(', ');
+  }
+
+  _handlePathsChanged(e) {
+    const paths = e.target.value
+        .split(',')
+        .map(path => path.trim())
+        .filter(path => path.length);
+    this.set('_repoConfig.comments.block_if_unresolved_comments_on_paths', paths);
+  }
+
   _computeButtonDisabled(readOnly, configChanged) {
     return readOnly || !configChanged;
   }
@@ -119,42 +165,85 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
     if (!this.repoName) {
       return;
     }
-    const promises = [];
-
-    promises.push(
-        this._pluginRestApi()
-            .getLoggedIn()
-            .then(loggedIn => {
-              this._loggedIn = loggedIn;
-              if (loggedIn) {
-                this._getRepoAccess(this.repoName).then(access => {
-                  if (!access) {
-                    return;
-                  }
-                  // If the user is not an owner, is_owner is not a property.
-                  this._readOnly = !access[this.repoName].is_owner;
-                });
-              }
-            })
-    );
 
-    promises.push(
-        this._pluginRestApi()
-            .get(this._endpointUrl())
-            .then(config => {
-              if (!config) {
-                return;
-              }
-              this.set('_repoConfig', config);
-              this._loading = false;
-            })
-    );
-
-    return Promise.all(promises);
+    // Config, permissions and host restrictions come in a single response,
+    // so that the screen renders after one round trip.
+    return this._pluginRestApi()
+        .get(this._endpointUrl() + '-screen')
+        .then(screen => {
+          if (!screen || !screen.config) {
+            return;
+          }
+          this._readOnly = !screen.can_write_config;
+          this._labelRestrictions = screen.label_restrictions || {};
+          this._setLoadedConfig(screen.config);
+          this._loading = false;
+        });
   }
 
   _formatRepoConfigForSave(repoConfig) {
-    return repoConfig;
+    return this._computeConfigDelta(this._originalConfig, repoConfig);
+  }
+
+  _setLoadedConfig(config) {
+    this._originalConfig = JSON.parse(JSON.stringify(config));
+    this.set('_repoConfig', config);
+  }
+
+  /**
+   * Returns the settings of current that differ from original, so that
+   * inherited labels the user didn't touch are not copied down to the
+   * project on save.
+   */
+  _computeConfigDelta(original, current) {
+    original = original || {};
+    const delta = {labels: {}};
+    if (original.revision) {
+      delta.revision = original.revision;
+    }
+    if (!this._isSameValue(original.comments, current.comments)) {
+      delta.comments = current.comments;
+    }
+    const originalLabels = original.labels || {};
+    for (const [name, label] of Object.entries(current.labels || {})) {
+      const originalLabel = originalLabels[name] || {};
+      const labelDelta = {};
+      for (const [field, value] of Object.entries(label)) {
+        if (!this._isSameValue(originalLabel[field], value)) {
+          labelDelta[field] = value;
+        }
+      }
+      if (Object.keys(labelDelta).length) {
+        delta.labels[name] = labelDelta;
+      }
+    }
+    return delta;
+  }
+
+  _isSameValue(a, b) {
+    return JSON.stringify(this._normalizeValue(a)) ===
+        JSON.stringify(this._normalizeValue(b));
+  }
+
+  /**
+   * The selects bind strings ('true') where the server sends booleans, and the
+   * order of the copy score rules doesn't matter.
+   */
+  _normalizeValue(value) {
+    if (value === undefined || value === null) {
+      return null;
+    }
+    if (Array.isArray(value)) {
+      return value.map(String).sort();
+    }
+    if (typeof value === 'object') {
+      const normalized = {};
+      for (const key of Object.keys(value).sort()) {
+        normalized[key] = this._normalizeValue(value[key]);
+      }
+      return normalized;
+    }
+    return String(value);
   }
 
   _endpointUrl() {
@@ -166,7 +255,10 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
   _handleSaveRepoConfig() {
     this._loading = true;
     return this._pluginRestApi()
-        .put(this._endpointUrl(), this._repoConfig)
+        .post(
+            this._endpointUrl(),
+            this._formatRepoConfigForSave(this._repoConfig)
+        )
         .then(config => {
           if (!config) {
             return Promise.resolve();
@@ -181,12 +273,16 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
               })
           );
 
-          this.set('_repoConfig', config);
+          this._setLoadedConfig(config);
           this._loading = false;
           this._configChanged = false;
         });
   }
 
+  _computeLabelRestrictions(labelRestrictions, labelName) {
+    return labelRestrictions[labelName] || {};
+  }
+
   _pluginRestApi() {
     if (this._restApi === undefined) {
       this._restApi = this.plugin.restApi();
@@ -194,12 +290,6 @@ class SimpleSubmitRulesRepoConfig extends Polymer.Element {
     return this._restApi;
   }
 
-  _getRepoAccess(repoName) {
-    return this._pluginRestApi().get(
-        '/access/?project=' + encodeURIComponent(repoName)
-    );
-  }
-
   _computeLabelNames() {
     if (this._repoConfig && this._repoConfig.labels) {
       return Object.keys(this._repoConfig.labels);